@@ -6,6 +6,9 @@ package com.avispl.symphony.dal.infrastructure.management.sembient.sembient;
 import java.net.ConnectException;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
@@ -14,32 +17,53 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.util.CollectionUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResponseExtractor;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import javax.security.auth.login.FailedLoginException;
 
+import com.avispl.symphony.api.common.error.NotModifiedException;
 import com.avispl.symphony.api.dal.control.Controller;
 import com.avispl.symphony.api.dal.dto.control.AdvancedControllableProperty;
 import com.avispl.symphony.api.dal.dto.control.AdvancedControllableProperty.DropDown;
@@ -52,23 +76,25 @@ import com.avispl.symphony.api.dal.monitor.Monitorable;
 import com.avispl.symphony.api.dal.monitor.aggregator.Aggregator;
 import com.avispl.symphony.dal.communicator.RestCommunicator;
 import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.airquality.AirQualityData;
-import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.airquality.AirQualitySensorResponse;
-import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.airquality.AirQualityWrapper;
 import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.building.BuildingResponse;
 import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.building.BuildingWrapper;
 import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.login.LoginResponse;
 import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.login.LoginWrapper;
 import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.occupancy.OccupancyData;
-import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.occupancy.OccupancyRegionResponse;
-import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.occupancy.OccupancyWrapper;
 import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.region.RegionResponse;
+import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.region.RegionTagResponse;
 import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.region.RegionTagWrapperControl;
 import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.region.RegionTagWrapperMonitor;
 import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.region.RegionWrapper;
 import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.thermal.ThermalData;
-import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.thermal.ThermalSensorResponse;
-import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.thermal.ThermalWrapper;
+import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils.AdaptiveConcurrencyLimiter;
+import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils.BudgetedTaskRunner;
+import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils.LayoutCacheEntry;
+import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils.NameFilter;
 import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils.SembientAggregatorConstant;
+import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils.TimeseriesResponse;
+import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils.TimeseriesStreamReader;
+import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils.TokenBucketRateLimiter;
 import com.avispl.symphony.dal.util.StringUtils;
 
 /**
@@ -93,6 +119,16 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 
 		private volatile boolean inProgress;
 
+		/**
+		 * Whether the loader was signalled since it last started waiting
+		 */
+		private boolean signalled;
+
+		/**
+		 * Floors whose data population is in progress, key is building id and floor name
+		 */
+		private final Set<String> floorsInProgress = ConcurrentHashMap.newKeySet();
+
 		/**
 		 * Parameters constructors
 		 */
@@ -107,82 +143,118 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 		public void run() {
 			mainloop:
 			while (inProgress) {
-				try {
-					TimeUnit.MILLISECONDS.sleep(200);
-				} catch (InterruptedException e) {
-					// Ignore for now
-				}
-				if (!inProgress) {
-					break mainloop;
-				}
 				// Wait for getMultipleStatistics() to collect building & floor information first
 				if (cachedBuildings.size() == 0) {
+					awaitSignal(0);
 					continue mainloop;
 				}
 				// next line will determine whether Sembient monitoring was paused
 				updateAggregatorStatus();
 				if (devicePaused) {
+					// retrieveMultipleStatistics() signals the loader when monitoring is resumed
+					awaitSignal(0);
 					continue mainloop;
 				}
-				try {
-					if (logger.isDebugEnabled()) {
-						logger.debug("Fetching region & sensor list");
-					}
-					fetchDevicesList();
-					if (logger.isDebugEnabled()) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Fetching region & sensor list");
+				}
+				// The discovery is chained on the layout requests, the loader waits for its signal instead of blocking on the requests
+				CompletableFuture<Void> discovery = fetchDevicesList().whenComplete((result, error) -> {
+					if (error != null) {
+						logger.error("Error occurred during region & sensor list retrieval: " + error.getMessage(), error);
+					} else if (logger.isDebugEnabled()) {
 						logger.debug("Fetched region & sensor list: " + aggregatedDevices);
 					}
-				} catch (Exception e) {
-					logger.error("Error occurred during region & sensor list retrieval: " + e.getMessage() + " with cause: " + e.getCause().getMessage(), e);
+					signal();
+				});
+				while (inProgress && !discovery.isDone()) {
+					awaitSignal(0);
 				}
 				if (!inProgress) {
 					break mainloop;
 				}
 				int aggregatedDevicesCount = aggregatedDevices.size();
 				if (aggregatedDevicesCount == 0) {
+					// fetchBuildings() signals the loader when the installation layout is refreshed
+					awaitSignal(0);
 					continue mainloop;
 				}
-				if (nextDevicesCollectionIterationTimestamp > System.currentTimeMillis()) {
-					continue;
-				}
-				for (AggregatedDevice aggregatedDevice : aggregatedDevices.values()) {
-					if (!inProgress) {
-						break;
+				// Devices that are no longer monitored lose their priority
+				prioritizedDevices.keySet().removeIf(deviceId -> !aggregatedDevices.containsKey(deviceId));
+				// Devices are grouped by floor, so floor wide timeseries are requested once per floor and cycle
+				Map<String, List<AggregatedDevice>> devicesByFloor = new HashMap<>();
+				for (String floorKey : deviceIdsByFloor.keySet()) {
+					List<AggregatedDevice> floorDevices = retrieveDevicesByIds(deviceIdsByFloor.getOrDefault(floorKey, Collections.emptySet()));
+					if (!floorDevices.isEmpty()) {
+						devicesByFloor.put(floorKey, floorDevices);
 					}
-					devicesExecutionPool.add(executorService.submit(() -> {
-						try {
-							populateRegionDetails(aggregatedDevice);
-						} catch (Exception e) {
-							logger.error(String.format("Exception during Sembient '%s' data processing.", aggregatedDevice.getDeviceName()), e);
-						}
-					}));
 				}
-				do {
-					try {
-						TimeUnit.MILLISECONDS.sleep(200);
-					} catch (InterruptedException e) {
-						if (!inProgress) {
-							break;
-						}
+				// Every metric family of a floor has its own polling cycle, a floor is processed when one of its families is due.
+				// Floors with devices requested by Symphony or controlled recently are processed first, even if none of their families is due
+				long currentTime = System.currentTimeMillis();
+				long nextCollectionTimestamp = Long.MAX_VALUE;
+				List<String> floorKeys = new ArrayList<>();
+				Set<String> prioritizedFloorKeys = new HashSet<>();
+				Map<String, Long> dueFloors = new HashMap<>();
+				for (Entry<String, List<AggregatedDevice>> floor : devicesByFloor.entrySet()) {
+					List<AggregatedDevice> floorDevices = floor.getValue();
+					boolean isPrioritized = false;
+					for (AggregatedDevice device : floorDevices) {
+						// Priority of a floor in progress is dropped, its data is being refreshed already
+						isPrioritized |= prioritizedDevices.remove(device.getDeviceId()) != null && !floorsInProgress.contains(floor.getKey());
 					}
-					devicesExecutionPool.removeIf(Future::isDone);
-				} while (!devicesExecutionPool.isEmpty());
-				// We don't want to fetch devices statuses too often, so by default it's currentTime + pollingCycle
-				if (StringUtils.isNotNullOrEmpty(pollingCycle)) {
-					long interval;
-					try {
-						int pollingInInt = Integer.parseInt(pollingCycle);
-						if (pollingInInt < SembientAggregatorConstant.DEFAULT_POLLING_CYCLE) {
-							pollingInInt = SembientAggregatorConstant.DEFAULT_POLLING_CYCLE;
-						}
-						interval = pollingInInt * SembientAggregatorConstant.MINUTE_TO_MS;
-					} catch (Exception e) {
-						logger.error("Invalid format, pollingCycle should be integer.", e);
-						interval = SembientAggregatorConstant.DEFAULT_POLLING_CYCLE * SembientAggregatorConstant.MINUTE_TO_MS;
+					if (floorsInProgress.contains(floor.getKey())) {
+						continue;
 					}
-					nextDevicesCollectionIterationTimestamp = System.currentTimeMillis() + interval;
-				} else {
-					nextDevicesCollectionIterationTimestamp = System.currentTimeMillis() + SembientAggregatorConstant.DEFAULT_POLLING_CYCLE * SembientAggregatorConstant.MINUTE_TO_MS;
+					if (isPrioritized) {
+						floorKeys.add(floor.getKey());
+						prioritizedFloorKeys.add(floor.getKey());
+						continue;
+					}
+					String[] deviceDetails = floorDevices.get(0).getDeviceId().split(SembientAggregatorConstant.DASH);
+					int lastIndex = deviceDetails.length - 1;
+					long floorCollectionTimestamp = getNextFloorCollectionTimestamp(deviceDetails[lastIndex - 2], deviceDetails[lastIndex - 1], floorDevices);
+					if (floorCollectionTimestamp > currentTime) {
+						nextCollectionTimestamp = Math.min(nextCollectionTimestamp, floorCollectionTimestamp);
+						continue;
+					}
+					dueFloors.put(floor.getKey(), floorCollectionTimestamp);
+				}
+				// Every cycle has a time budget, floors whose requests are not started before the deadline are deferred to the next cycle.
+				// Floors are started as fast as the concurrency limit lets their requests through, prioritized floors first and then due floors
+				// in staleness order (the longest overdue first), so deferred floors are the first ones of the next cycle
+				List<String> floorsByStaleness = new ArrayList<>(dueFloors.keySet());
+				floorsByStaleness.sort(Comparator.comparing(dueFloors::get));
+				floorKeys.addAll(floorsByStaleness);
+				if (floorKeys.isEmpty()) {
+					// Nothing is due, wait for the earliest family of any floor
+					nextDevicesCollectionIterationTimestamp = nextCollectionTimestamp;
+					awaitSignal(nextCollectionTimestamp == Long.MAX_VALUE ? 0 : nextCollectionTimestamp - currentTime);
+					continue;
+				}
+				long cycleDeadline = currentTime + getCycleTimeBudget();
+				BudgetedTaskRunner<String> floorRunner = new BudgetedTaskRunner<>(floorKeys,
+						floorKey -> startFloor(devicesByFloor.get(floorKey), prioritizedFloorKeys.contains(floorKey)), cycleDeadline);
+				// The cycle is finished when the data of every started floor is populated, including the retries of 429 errors.
+				// The loader doesn't wait past the deadline, and devices prioritized in the meantime don't wait for the end of the cycle
+				CompletableFuture<Void> cycle = floorRunner.start(adaptiveConcurrencyLimiter.getLimit());
+				cycle.whenComplete((result, error) -> signal());
+				long remainingTime = cycleDeadline - System.currentTimeMillis();
+				while (inProgress && !cycle.isDone() && prioritizedDevices.isEmpty() && remainingTime > 0) {
+					awaitSignal(remainingTime);
+					remainingTime = cycleDeadline - System.currentTimeMillis();
+				}
+				// Floors that are not started are still due, the next cycle starts right away with them.
+				// Floors in progress keep running, the next cycle skips them until they are finished
+				int cycleDeferredDevices = 0;
+				for (String floorKey : floorRunner.drainPendingTasks()) {
+					cycleDeferredDevices += devicesByFloor.get(floorKey).size();
+				}
+				if (remainingTime <= 0 || cycle.isDone()) {
+					deferredDevicesCount = cycleDeferredDevices;
+				}
+				if (cycleDeferredDevices > 0 && logger.isDebugEnabled()) {
+					logger.debug(String.format("Sembient data processing of %s devices is deferred to the next cycle", cycleDeferredDevices));
 				}
 				if (logger.isDebugEnabled()) {
 					logger.debug("Finished collecting devices statistics cycle at " + new Date());
@@ -191,13 +263,117 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 			// Finished collecting
 		}
 
+		/**
+		 * Start the data population of a floor
+		 *
+		 * @param floorDevices list of aggregated devices located on the floor
+		 * @param isPrioritized whether the floor has devices prioritized by {@link #prioritizeDevices(Collection)}
+		 * @return future completed when the data of the floor is populated
+		 */
+		private CompletableFuture<Void> startFloor(List<AggregatedDevice> floorDevices, boolean isPrioritized) {
+			if (!inProgress) {
+				return CompletableFuture.completedFuture(null);
+			}
+			String[] deviceDetails = floorDevices.get(0).getDeviceId().split(SembientAggregatorConstant.DASH);
+			int lastIndex = deviceDetails.length - 1;
+			String buildingID = deviceDetails[lastIndex - 2];
+			String floorName = deviceDetails[lastIndex - 1];
+			String floorKey = buildingID + SembientAggregatorConstant.DASH + floorName;
+			if (!floorsInProgress.add(floorKey)) {
+				return CompletableFuture.completedFuture(null);
+			}
+			if (isPrioritized) {
+				lastPriorityCollectionTimestamps.put(floorKey, System.currentTimeMillis());
+			}
+			CompletableFuture<Void> floorCycle;
+			try {
+				floorCycle = populateFloorDetails(buildingID, floorName, floorDevices, isPrioritized);
+			} catch (Exception e) {
+				logger.error(String.format("Exception during Sembient floor '%s' data processing.", floorName), e);
+				floorCycle = CompletableFuture.completedFuture(null);
+			}
+			return floorCycle.whenComplete((result, error) -> floorsInProgress.remove(floorKey));
+		}
+
+		/**
+		 * Wake the loader up, so it re-evaluates whether there is something to do
+		 */
+		public synchronized void signal() {
+			signalled = true;
+			notifyAll();
+		}
+
+		/**
+		 * Wait until the loader is signalled or the timeout elapses
+		 *
+		 * @param timeout maximum time to wait in milliseconds, 0 to wait for a signal only
+		 */
+		private synchronized void awaitSignal(long timeout) {
+			long deadline = System.currentTimeMillis() + timeout;
+			try {
+				while (!signalled && inProgress) {
+					if (timeout <= 0) {
+						wait();
+					} else {
+						long remaining = deadline - System.currentTimeMillis();
+						if (remaining <= 0) {
+							break;
+						}
+						wait(remaining);
+					}
+				}
+			} catch (InterruptedException e) {
+				// Executor is shut down, inProgress is checked by the main loop
+			}
+			signalled = false;
+		}
+
 		/**
 		 * Triggers main loop to stop
 		 */
 		public void stop() {
 			inProgress = false;
+			signal();
+		}
+
+	}
+
+	/**
+	 * Wake {@link #deviceDataLoader} up, so it picks the changes up without waiting for its next cycle
+	 */
+	private void signalDeviceDataLoader() {
+		SembientDeviceDataLoader loader = deviceDataLoader;
+		if (loader != null) {
+			loader.signal();
 		}
+	}
 
+	/**
+	 * Give the data collection of devices priority over the rest of the devices, used for devices requested by Symphony
+	 * and devices that were controlled. A floor is refreshed with priority at most once every {@link SembientAggregatorConstant#PRIORITY_COLLECTION_RATIO}
+	 * of the shortest polling cycle, and only the metric families with data older than that part of their own polling cycle are refreshed,
+	 * so devices requested repeatedly don't bypass the polling cycle.
+	 *
+	 * @param deviceIds list of device ids
+	 */
+	private void prioritizeDevices(Collection<String> deviceIds) {
+		long currentTime = System.currentTimeMillis();
+		long priorityCollectionInterval = (long) (getCycleTimeBudget() * SembientAggregatorConstant.PRIORITY_COLLECTION_RATIO);
+		boolean isPrioritized = false;
+		for (String deviceId : deviceIds) {
+			if (!aggregatedDevices.containsKey(deviceId)) {
+				continue;
+			}
+			String[] deviceDetails = deviceId.split(SembientAggregatorConstant.DASH);
+			int lastIndex = deviceDetails.length - 1;
+			Long lastPriorityCollectionTimestamp = lastPriorityCollectionTimestamps.get(deviceDetails[lastIndex - 2] + SembientAggregatorConstant.DASH + deviceDetails[lastIndex - 1]);
+			if (lastPriorityCollectionTimestamp == null || currentTime - lastPriorityCollectionTimestamp >= priorityCollectionInterval) {
+				isPrioritized |= prioritizedDevices.putIfAbsent(deviceId, currentTime) == null;
+			}
+		}
+		if (isPrioritized) {
+			signalDeviceDataLoader();
+		}
 	}
 
 	/**
@@ -213,8 +389,12 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	 * Uptime time stamp to valid one
 	 */
 	private synchronized void updateValidRetrieveStatisticsTimestamp() {
+		boolean wasPaused = devicePaused;
 		validRetrieveStatisticsTimestamp = System.currentTimeMillis() + retrieveStatisticsTimeOut;
 		updateAggregatorStatus();
+		if (wasPaused && !devicePaused) {
+			signalDeviceDataLoader();
+		}
 	}
 
 	/**
@@ -253,27 +433,38 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	private volatile long nextDevicesCollectionIterationTimestamp;
 
 	/**
-	 * Executor that runs all the async operations, that {@link #deviceDataLoader} is posting and
-	 * {@link #devicesExecutionPool} is keeping track of
+	 * Number of devices whose data collection was deferred to the next cycle because the last cycle ran out of its time budget
+	 */
+	private volatile int deferredDevicesCount;
+
+	/**
+	 * Executor that runs all the async operations that {@link #deviceDataLoader} is posting
 	 */
 	private static ExecutorService executorService;
 
 	/**
-	 * Runner service responsible for collecting data and posting processes to {@link #devicesExecutionPool}
+	 * Scheduler that waits for the retry interval before a failed (429 error) request is submitted again to {@link #executorService},
+	 * and refreshes the login token before it expires
+	 */
+	private ScheduledExecutorService retryScheduledExecutorService;
+
+	/**
+	 * Executor that runs the controls of different devices in parallel in {@link #controlProperties(List)}.
+	 * Separated from {@link #executorService}, so controls don't wait for the data collection in progress
 	 */
-	private SembientDeviceDataLoader deviceDataLoader;
+	private ExecutorService controlExecutorService;
 
 	/**
-	 * Pool for keeping all the async operations in, to track any operations in progress and cancel them if needed
+	 * Runner service responsible for collecting data and posting processes to {@link #executorService}
 	 */
-	private final List<Future> devicesExecutionPool = new ArrayList<>();
+	private volatile SembientDeviceDataLoader deviceDataLoader;
 
 
 	/**
 	 * Set of {@link BuildingResponse} - data will be fetched in worker thread, and later be used to populate
 	 * in {@link SembientAggregatorCommunicator#getMultipleStatistics()}
 	 */
-	Set<BuildingResponse> cachedBuildings = ConcurrentHashMap.newKeySet();
+	volatile Set<BuildingResponse> cachedBuildings = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * Devices this aggregator is responsible for
@@ -293,11 +484,31 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	private volatile boolean serviceRunning;
 
 	/**
-	 * ReentrantLock
+	 * Control locks, key is device id. Each device has its own lock, so control operations of different devices don't wait for each other
+	 */
+	private final ConcurrentHashMap<String, ReentrantLock> deviceControlLocks = new ConcurrentHashMap<>();
+
+	/**
+	 * Lock of the installation layout refresh (login, buildings), separated from {@link #deviceControlLocks} because it is held during network calls
+	 */
+	private final ReentrantLock layoutRefreshLock = new ReentrantLock();
+
+	private volatile LoginResponse loginResponse;
+
+	/**
+	 * Lock of the login, concurrent callers that need a new token wait for a single login instead of sending their own
+	 */
+	private final Object loginLock = new Object();
+
+	/**
+	 * Scheduled refresh of the login token, run before the token expires
 	 */
-	private final ReentrantLock reentrantLock = new ReentrantLock();
+	private volatile ScheduledFuture<?> tokenRefreshFuture;
 
-	private LoginResponse loginResponse;
+	/**
+	 * Index of {@link #aggregatedDevices}: device ids by building id and floor name
+	 */
+	private final ConcurrentHashMap<String, Set<String>> deviceIdsByFloor = new ConcurrentHashMap<>();
 
 	/**
 	 * Map with key is device id and value is value of hour (8-17) in the dropdown list.
@@ -319,10 +530,33 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	 */
 	private final ConcurrentHashMap<String, String> lastNewTag = new ConcurrentHashMap<>();
 
+	/**
+	 * Map with key is metric family (AirQuality, Thermal, OccupancyList, RegionTags), building id and floor name,
+	 * value is timestamp of when the data of the family needs to be collected again for the floor.
+	 */
+	private final ConcurrentHashMap<String, Long> nextFloorDataCollectionTimestamps = new ConcurrentHashMap<>();
+
+	/**
+	 * Map with key is metric family (AirQuality, Thermal, OccupancyList, RegionTags), building id and floor name,
+	 * value is timestamp of when the data of the family was last collected successfully for the floor.
+	 */
+	private final ConcurrentHashMap<String, Long> lastFloorDataCollectionTimestamps = new ConcurrentHashMap<>();
+
+	/**
+	 * Map with key is device id and value is timestamp of when the device was requested by Symphony or controlled,
+	 * the floors of these devices are refreshed before the other floors, see {@link #prioritizeDevices(Collection)}
+	 */
+	private final ConcurrentHashMap<String, Long> prioritizedDevices = new ConcurrentHashMap<>();
+
+	/**
+	 * Map with key is building id and floor name, value is timestamp of the last refresh of the floor given priority
+	 */
+	private final ConcurrentHashMap<String, Long> lastPriorityCollectionTimestamps = new ConcurrentHashMap<>();
+
 	// Adapter properties
 
 	/**
-	 * String of building to be filtered
+	 * List of buildings to be filtered, the first building is monitored if not set
 	 */
 	private String buildingFilter;
 
@@ -347,6 +581,14 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	 */
 	private String regionTypeFilter;
 
+	/**
+	 * Filters compiled when the filter properties are set, so devices are matched without parsing the filters again
+	 */
+	private volatile NameFilter compiledBuildingFilter = NameFilter.EMPTY;
+	private volatile NameFilter compiledFloorFilter = NameFilter.EMPTY;
+	private volatile NameFilter compiledDeviceNameFilter = NameFilter.EMPTY;
+	private volatile NameFilter compiledRegionTypeFilter = NameFilter.EMPTY;
+
 	/**
 	 * Property that define when will the adapter fetch new data of building, floor, devices
 	 * then store to {@link SembientAggregatorCommunicator#cachedBuildings}
@@ -355,10 +597,32 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 
 	/**
 	 * Property that define when will the adapter fetch new data of Thermal, Airquality, Occupancy
-	 * then store to {@link SembientAggregatorCommunicator#cachedBuildings}
+	 * then store to {@link SembientAggregatorCommunicator#cachedBuildings}.
+	 * Overridden by {@link #iaqPollingCycle}, {@link #thermalPollingCycle}, {@link #occupancyPollingCycle} for their family
 	 */
 	private String pollingCycle;
 
+	/**
+	 * Property that define when will the adapter fetch new data of Airquality, {@link #pollingCycle} is used if not set
+	 */
+	private String iaqPollingCycle;
+
+	/**
+	 * Property that define when will the adapter fetch new data of Thermal, {@link #pollingCycle} is used if not set
+	 */
+	private String thermalPollingCycle;
+
+	/**
+	 * Property that define when will the adapter fetch new data of Occupancy, {@link #pollingCycle} is used if not set
+	 */
+	private String occupancyPollingCycle;
+
+	/**
+	 * Property that define when will the adapter fetch new data of region tags.
+	 * Region tags rarely change, so they are refreshed less often than Thermal, Airquality, Occupancy
+	 */
+	private String regionTagPollingCycle;
+
 	/**
 	 * Property that define when will the adapter fetch new data of Thermal, Airquality, Occupancy  and get too many request error
 	 * then store to {@link SembientAggregatorCommunicator#cachedBuildings}
@@ -371,17 +635,85 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	 */
 	private String numberOfRetries;
 
+	/**
+	 * Property that define the maximum number of requests per second sent to Sembient cloud.
+	 * It should be set just under the Sembient API quota, so requests are delayed on the adapter side instead of being rejected with 429 error
+	 */
+	private String requestRateLimit;
+
+	/**
+	 * Property that define the maximum number of floor & region type requests run in parallel during the discovery of regions & sensors
+	 */
+	private String discoveryParallelism;
+
+	/**
+	 * Client side rate limiter that every request to Sembient cloud goes through
+	 */
+	private final TokenBucketRateLimiter requestRateLimiter = new TokenBucketRateLimiter(SembientAggregatorConstant.DEFAULT_REQUEST_RATE_LIMIT);
+
+	/**
+	 * Limit of in-flight requests sent by worker threads, adapted to the 429 and timeout errors returned by Sembient cloud.
+	 * Replaced when the adapter is destroyed, permits of the requests dropped by the worker pool shutdown are never released.
+	 */
+	private volatile AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter = new AdaptiveConcurrencyLimiter(1, SembientAggregatorConstant.MAX_NO_THREADS);
+
+
+	/**
+	 * Stored too many request error endpoint, value is the number of callers that have not handled the error yet.
+	 * A request shared by several callers counts once per caller, so every caller can schedule its own retry.
+	 */
+	private final ConcurrentHashMap<String, Integer> cachedTooManyRequestError = new ConcurrentHashMap<>();
+
+	/**
+	 * Requests that are in flight in worker threads, key is the request url (and the requested devices for timeseries requests).
+	 * Concurrent callers of the same request attach to the request in flight and share its response.
+	 */
+	private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlightRequests = new ConcurrentHashMap<>();
 
 	/**
-	 * Stored too many request error endpoint
+	 * Shared response of a request in flight that got 429 error
 	 */
-	private Set<String> cachedTooManyRequestError = ConcurrentHashMap.newKeySet();
+	private static final Object TOO_MANY_REQUESTS_RESPONSE = new Object();
 
 	/**
 	 * Stored device category from api
 	 */
 	private Map<String, String> cachedRealDeviceCategory = new ConcurrentHashMap<>();
 
+	/**
+	 * Map with key is layout request (region list of a floor), value is ids of the devices discovered from it.
+	 * Used to find the devices that no longer exist when the layout changes.
+	 */
+	private final ConcurrentHashMap<String, Set<String>> layoutDevices = new ConcurrentHashMap<>();
+
+	/**
+	 * Validators of the last installation layout (buildings, regions) responses, key is the layout request.
+	 * Used to skip rebuilding {@link #cachedBuildings} and {@link #aggregatedDevices} when the layout has not changed.
+	 */
+	private final ConcurrentHashMap<String, LayoutCacheEntry> cachedLayoutEntries = new ConcurrentHashMap<>();
+
+	/**
+	 * Object mapper shared by the responses deserialized by the adapter itself
+	 */
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	/**
+	 * Readers of floor timeseries responses, only the data of the requested sensors and regions is deserialized
+	 */
+	private final TimeseriesStreamReader<AirQualityData[]> airQualityReader = new TimeseriesStreamReader<>(objectMapper, SembientAggregatorConstant.SENSORS_FIELD,
+			SembientAggregatorConstant.SENSOR_NAME_FIELD, AirQualityData[].class);
+	private final TimeseriesStreamReader<ThermalData[]> thermalReader = new TimeseriesStreamReader<>(objectMapper, SembientAggregatorConstant.SENSORS_FIELD,
+			SembientAggregatorConstant.SENSOR_NAME_FIELD, ThermalData[].class);
+	private final TimeseriesStreamReader<OccupancyData[]> occupancyReader = new TimeseriesStreamReader<>(objectMapper, SembientAggregatorConstant.REGIONS_FIELD,
+			SembientAggregatorConstant.REGION_NAME_FIELD, OccupancyData[].class);
+
+	/**
+	 * Timeseries responses of days that have already ended, key is the date, value is the map of request key (metric, building, floor, date
+	 * and requested device names) and response.
+	 * Responses are never modified once cached, days older than yesterday are evicted.
+	 */
+	private final ConcurrentHashMap<String, Map<String, TimeseriesResponse<?>>> closedDayTimeseries = new ConcurrentHashMap<>();
+
 
 	/**
 	 * Retrieves {@link #regionTypeFilter}
@@ -399,6 +731,7 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	 */
 	public void setRegionTypeFilter(String regionTypeFilter) {
 		this.regionTypeFilter = regionTypeFilter;
+		this.compiledRegionTypeFilter = NameFilter.compile(regionTypeFilter);
 	}
 
 	/**
@@ -419,6 +752,78 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 		this.pollingCycle = pollingCycle;
 	}
 
+	/**
+	 * Retrieves {@link #iaqPollingCycle}
+	 *
+	 * @return value of {@link #iaqPollingCycle}
+	 */
+	public String getIaqPollingCycle() {
+		return iaqPollingCycle;
+	}
+
+	/**
+	 * Sets {@link #iaqPollingCycle} value
+	 *
+	 * @param iaqPollingCycle new value of {@link #iaqPollingCycle}
+	 */
+	public void setIaqPollingCycle(String iaqPollingCycle) {
+		this.iaqPollingCycle = iaqPollingCycle;
+	}
+
+	/**
+	 * Retrieves {@link #thermalPollingCycle}
+	 *
+	 * @return value of {@link #thermalPollingCycle}
+	 */
+	public String getThermalPollingCycle() {
+		return thermalPollingCycle;
+	}
+
+	/**
+	 * Sets {@link #thermalPollingCycle} value
+	 *
+	 * @param thermalPollingCycle new value of {@link #thermalPollingCycle}
+	 */
+	public void setThermalPollingCycle(String thermalPollingCycle) {
+		this.thermalPollingCycle = thermalPollingCycle;
+	}
+
+	/**
+	 * Retrieves {@link #occupancyPollingCycle}
+	 *
+	 * @return value of {@link #occupancyPollingCycle}
+	 */
+	public String getOccupancyPollingCycle() {
+		return occupancyPollingCycle;
+	}
+
+	/**
+	 * Sets {@link #occupancyPollingCycle} value
+	 *
+	 * @param occupancyPollingCycle new value of {@link #occupancyPollingCycle}
+	 */
+	public void setOccupancyPollingCycle(String occupancyPollingCycle) {
+		this.occupancyPollingCycle = occupancyPollingCycle;
+	}
+
+	/**
+	 * Retrieves {@link #regionTagPollingCycle}
+	 *
+	 * @return value of {@link #regionTagPollingCycle}
+	 */
+	public String getRegionTagPollingCycle() {
+		return regionTagPollingCycle;
+	}
+
+	/**
+	 * Sets {@link #regionTagPollingCycle} value
+	 *
+	 * @param regionTagPollingCycle new value of {@link #regionTagPollingCycle}
+	 */
+	public void setRegionTagPollingCycle(String regionTagPollingCycle) {
+		this.regionTagPollingCycle = regionTagPollingCycle;
+	}
+
 	/**
 	 * Retrieves {@link #buildingFilter}
 	 *
@@ -435,6 +840,7 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	 */
 	public void setBuildingFilter(String buildingFilter) {
 		this.buildingFilter = buildingFilter;
+		this.compiledBuildingFilter = NameFilter.compile(buildingFilter);
 	}
 
 	/**
@@ -453,6 +859,7 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	 */
 	public void setFloorFilter(String floorFilter) {
 		this.floorFilter = floorFilter;
+		this.compiledFloorFilter = NameFilter.compile(floorFilter);
 	}
 
 	/**
@@ -471,6 +878,7 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	 */
 	public void setDeviceNameFilter(String deviceNameFilter) {
 		this.deviceNameFilter = deviceNameFilter;
+		this.compiledDeviceNameFilter = NameFilter.compile(deviceNameFilter);
 	}
 
 
@@ -585,6 +993,42 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 		this.numberOfRetries = numberOfRetries;
 	}
 
+	/**
+	 * Retrieves {@link #requestRateLimit}
+	 *
+	 * @return value of {@link #requestRateLimit}
+	 */
+	public String getRequestRateLimit() {
+		return requestRateLimit;
+	}
+
+	/**
+	 * Sets {@link #requestRateLimit} value
+	 *
+	 * @param requestRateLimit new value of {@link #requestRateLimit}
+	 */
+	public void setRequestRateLimit(String requestRateLimit) {
+		this.requestRateLimit = requestRateLimit;
+	}
+
+	/**
+	 * Retrieves {@link #discoveryParallelism}
+	 *
+	 * @return value of {@link #discoveryParallelism}
+	 */
+	public String getDiscoveryParallelism() {
+		return discoveryParallelism;
+	}
+
+	/**
+	 * Sets {@link #discoveryParallelism} value
+	 *
+	 * @param discoveryParallelism new value of {@link #discoveryParallelism}
+	 */
+	public void setDiscoveryParallelism(String discoveryParallelism) {
+		this.discoveryParallelism = discoveryParallelism;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -594,8 +1038,11 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 			logger.debug("Internal init is called");
 		}
 		this.setTrustAllCertificates(true);
+		requestRateLimiter.setPermitsPerSecond(getRequestRateLimitFromUserInput());
 		// Init thread
 		executorService = Executors.newFixedThreadPool(SembientAggregatorConstant.MAX_NO_THREADS);
+		retryScheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+		obtainControlExecutorService();
 		executorService.submit(deviceDataLoader = new SembientDeviceDataLoader());
 
 		validBuildingAndFloorMetaDataRetrievalPeriodTimestamp = System.currentTimeMillis();
@@ -609,6 +1056,10 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	@Override
 	protected void internalDestroy() {
 		loginResponse = null;
+		if (tokenRefreshFuture != null) {
+			tokenRefreshFuture.cancel(true);
+			tokenRefreshFuture = null;
+		}
 		if (logger.isDebugEnabled()) {
 			logger.debug("Internal destroy is called.");
 		}
@@ -625,15 +1076,45 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 			executorService = null;
 		}
 
-		devicesExecutionPool.forEach(future -> future.cancel(true));
-		devicesExecutionPool.clear();
+		if (retryScheduledExecutorService != null) {
+			retryScheduledExecutorService.shutdownNow();
+			retryScheduledExecutorService = null;
+		}
+
+		synchronized (this) {
+			if (controlExecutorService != null) {
+				controlExecutorService.shutdownNow();
+				controlExecutorService = null;
+			}
+		}
+
+		// Requests queued in the worker pool were dropped by its shutdown, their callers are completed as failed requests
+		AdaptiveConcurrencyLimiter limiter = adaptiveConcurrencyLimiter;
+		adaptiveConcurrencyLimiter = new AdaptiveConcurrencyLimiter(1, SembientAggregatorConstant.MAX_NO_THREADS);
+		limiter.cancelWaiters();
+		for (String requestKey : new ArrayList<>(inFlightRequests.keySet())) {
+			CompletableFuture<Object> inFlightRequest = inFlightRequests.remove(requestKey);
+			if (inFlightRequest != null) {
+				inFlightRequest.complete(null);
+			}
+		}
 		aggregatedDeviceHourMap.clear();
 		aggregatedDeviceTagMap.clear();
 		aggregatedDeviceOccupancyMap.clear();
 		cachedBuildings.clear();
 		lastNewTag.clear();
+		nextFloorDataCollectionTimestamps.clear();
+		lastFloorDataCollectionTimestamps.clear();
+		prioritizedDevices.clear();
+		lastPriorityCollectionTimestamps.clear();
 		aggregatedDevices.clear();
+		deviceIdsByFloor.clear();
+		deviceControlLocks.clear();
 		cachedTooManyRequestError.clear();
+		cachedLayoutEntries.clear();
+		layoutDevices.clear();
+		cachedRealDeviceCategory.clear();
+		closedDayTimeseries.clear();
 		super.internalDestroy();
 	}
 
@@ -642,13 +1123,23 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	 */
 	@Override
 	public void controlProperty(ControllableProperty controllableProperty) {
-		reentrantLock.lock();
+		String deviceId = controllableProperty.getDeviceId();
+		// Only known devices get a lock, so the locks are bounded by the devices
+		if (deviceId == null || !aggregatedDevices.containsKey(deviceId)) {
+			throw new IllegalArgumentException(String.format("Failed to perform control operation, device %s is not found.", deviceId));
+		}
+		// Controls of different devices run in parallel, controls of the same device are run one by one in arrival order
+		ReentrantLock deviceControlLock = deviceControlLocks.computeIfAbsent(deviceId, key -> new ReentrantLock(true));
+		deviceControlLock.lock();
 		try {
-			String deviceId = controllableProperty.getDeviceId();
 			String[] properties = controllableProperty.getProperty().split(SembientAggregatorConstant.HASH);
 			String groupName = properties[0];
 			String propertyName = properties[1];
 			AggregatedDevice deviceToBeControlled = aggregatedDevices.get(deviceId);
+			if (deviceToBeControlled == null) {
+				// Device is removed while the control was waiting for the lock
+				throw new IllegalArgumentException(String.format("Failed to perform control operation, device %s is not found.", deviceId));
+			}
 			String[] deviceDetails = deviceId.split(SembientAggregatorConstant.DASH);
 			// Validate if device id is built base on <device type>-<customer id>-<building id>-<floor name>-<device name>
 			int lastIndex = deviceDetails.length - 1;
@@ -740,7 +1231,7 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 								.append(newTag);
 						RegionTagWrapperControl createRegionTagWrapperControl = null;
 						try {
-							createRegionTagWrapperControl = this.doPut(createRequestBuilder.toString(), null, RegionTagWrapperControl.class);
+							createRegionTagWrapperControl = doRequestWithRelogin(() -> this.doPut(createRequestBuilder.toString(), null, RegionTagWrapperControl.class));
 						} catch (CommandFailureException e) {
 							logger.error("Failed to create with status code: " + e.getStatusCode() + ", value: " + newTag, e);
 							if (e.getStatusCode() == 429) {
@@ -794,7 +1285,10 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 								SembientAggregatorConstant.COMMAND_SPACE_TAGS + loginResponse.getCustomerId() + SembientAggregatorConstant.SLASH + buildingID + SembientAggregatorConstant.SLASH + floorName
 										+ SembientAggregatorConstant.PARAM_REGION_NAME + deviceName + SembientAggregatorConstant.PARAM_REGION_TAGS + valueToBeDelete;
 						try {
-							this.doDelete(deleteRequest);
+							doRequestWithRelogin(() -> {
+								this.doDelete(deleteRequest);
+								return null;
+							});
 							// Get old tags
 							List<String> options = new ArrayList<>();
 							for (AdvancedControllableProperty control : controlFromCached) {
@@ -837,11 +1331,26 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 			deviceToBeControlled.setProperties(statFromCached);
 			deviceToBeControlled.setControllableProperties(controlFromCached);
 			aggregatedDevices.put(deviceId, deviceToBeControlled);
+			// Controlled device is likely looked at, its floor is refreshed before the other floors
+			prioritizeDevices(Collections.singletonList(deviceId));
 		} finally {
-			reentrantLock.unlock();
+			deviceControlLock.unlock();
+			// The lock of a device removed while it was held is left by removeDevices(Set), the last control of the device removes it
+			if (!aggregatedDevices.containsKey(deviceId)) {
+				removeDeviceControlLock(deviceId);
+			}
 		}
 	}
 
+	/**
+	 * Remove the control lock of a device, unless it is held or waited for by a control
+	 *
+	 * @param deviceId id of the device
+	 */
+	private void removeDeviceControlLock(String deviceId) {
+		deviceControlLocks.computeIfPresent(deviceId, (key, lock) -> lock.isLocked() || lock.hasQueuedThreads() ? lock : null);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -850,9 +1359,50 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 		if (CollectionUtils.isEmpty(controllablePropertyList)) {
 			throw new IllegalArgumentException("Controllable properties cannot be null or empty");
 		}
+		// Controls are grouped by device, devices are controlled in parallel and controls of the same device keep their order
+		Map<String, List<ControllableProperty>> controlsByDevice = new LinkedHashMap<>();
 		for (ControllableProperty controllableProperty : controllablePropertyList) {
-			controlProperty(controllableProperty);
+			controlsByDevice.computeIfAbsent(controllableProperty.getDeviceId(), deviceId -> new ArrayList<>()).add(controllableProperty);
+		}
+		ExecutorService controlExecutor = obtainControlExecutorService();
+		List<Future<List<String>>> deviceControls = new ArrayList<>();
+		for (List<ControllableProperty> deviceControlList : controlsByDevice.values()) {
+			deviceControls.add(controlExecutor.submit(() -> {
+				List<String> failedControls = new ArrayList<>();
+				for (ControllableProperty controllableProperty : deviceControlList) {
+					try {
+						controlProperty(controllableProperty);
+						if (logger.isDebugEnabled()) {
+							logger.debug(String.format("Controlled %s of device %s successfully", controllableProperty.getProperty(), controllableProperty.getDeviceId()));
+						}
+					} catch (Exception e) {
+						logger.error(String.format("Failed to control %s of device %s", controllableProperty.getProperty(), controllableProperty.getDeviceId()), e);
+						failedControls.add(String.format("%s of device %s: %s", controllableProperty.getProperty(), controllableProperty.getDeviceId(), e.getMessage()));
+					}
+				}
+				return failedControls;
+			}));
+		}
+		List<String> failedControls = new ArrayList<>();
+		for (Future<List<String>> deviceControl : deviceControls) {
+			failedControls.addAll(deviceControl.get());
+		}
+		if (!failedControls.isEmpty()) {
+			throw new IllegalStateException(String.format("Failed to control %s of %s properties: %s", failedControls.size(), controllablePropertyList.size(),
+					String.join("; ", failedControls)));
+		}
+	}
+
+	/**
+	 * Retrieves the executor of {@link #controlProperties(List)}, created if the adapter was not initialized properly
+	 *
+	 * @return executor that runs the controls of different devices in parallel
+	 */
+	private synchronized ExecutorService obtainControlExecutorService() {
+		if (controlExecutorService == null || controlExecutorService.isShutdown()) {
+			controlExecutorService = Executors.newFixedThreadPool(SembientAggregatorConstant.MAX_NO_THREADS);
 		}
+		return controlExecutorService;
 	}
 
 	/**
@@ -860,80 +1410,56 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	 */
 	@Override
 	public List<Statistics> getMultipleStatistics() throws Exception {
-		reentrantLock.lock();
 		Map<String, String> newStatistics = new HashMap<>();
 		ExtendedStatistics extendedStatistics = new ExtendedStatistics();
-		try {
-			// Login to get the token if token has expired.
-			sembientLogin();
-			// Fetch building
-			fetchBuildings();
-			// Put NextRefreshInterval properties to stats map
-			DateFormat obj = new SimpleDateFormat(SembientAggregatorConstant.DATE_ISO_FORMAT);
-			obj.setTimeZone(TimeZone.getTimeZone(SembientAggregatorConstant.UTC_TIMEZONE));
-			newStatistics.put(SembientAggregatorConstant.NEXT_INSTALLATION_LAYOUT_POLLING_CYCLE, obj.format(validBuildingAndFloorMetaDataRetrievalPeriodTimestamp));
-			if (nextDevicesCollectionIterationTimestamp == 0) {
-				newStatistics.put(SembientAggregatorConstant.NEXT_POLLING_CYCLE, obj.format(new Date()));
+		// Login and building retrieval are done outside the control lock, so control commands don't wait for Sembient cloud
+		refreshInstallationLayout();
+		// Statistics are built from a snapshot of the buildings, the snapshot is replaced as a whole when the layout changes
+		Set<BuildingResponse> buildings = cachedBuildings;
+		// Put NextRefreshInterval properties to stats map
+		DateFormat obj = new SimpleDateFormat(SembientAggregatorConstant.DATE_ISO_FORMAT);
+		obj.setTimeZone(TimeZone.getTimeZone(SembientAggregatorConstant.UTC_TIMEZONE));
+		newStatistics.put(SembientAggregatorConstant.NEXT_INSTALLATION_LAYOUT_POLLING_CYCLE, obj.format(validBuildingAndFloorMetaDataRetrievalPeriodTimestamp));
+		if (nextDevicesCollectionIterationTimestamp == 0) {
+			newStatistics.put(SembientAggregatorConstant.NEXT_POLLING_CYCLE, obj.format(new Date()));
+		} else {
+			newStatistics.put(SembientAggregatorConstant.NEXT_POLLING_CYCLE, obj.format(nextDevicesCollectionIterationTimestamp));
+		}
+		newStatistics.put(SembientAggregatorConstant.ADAPTIVE_CONCURRENCY_LIMIT, String.valueOf(adaptiveConcurrencyLimiter.getLimit()));
+		newStatistics.put(SembientAggregatorConstant.DEFERRED_DEVICES, String.valueOf(deferredDevicesCount));
+		if (buildings != null && buildings.size() != 0) {
+			List<BuildingResponse> filteredBuildings = getFilteredBuildings(buildings);
+			if (!filteredBuildings.isEmpty()) {
+				newStatistics.put(SembientAggregatorConstant.CURRENT_FILTER_BUILDING,
+						filteredBuildings.stream().map(BuildingResponse::getBuildingName).collect(Collectors.joining(SembientAggregatorConstant.COMMA)));
 			} else {
-				newStatistics.put(SembientAggregatorConstant.NEXT_POLLING_CYCLE, obj.format(nextDevicesCollectionIterationTimestamp));
-			}
-			if (cachedBuildings != null && cachedBuildings.size() != 0) {
-				BuildingResponse buildingResponse = null;
-				if (StringUtils.isNotNullOrEmpty(buildingFilter)) {
-					for (BuildingResponse building : cachedBuildings) {
-						if (building.getBuildingName().equals(buildingFilter)) {
-							buildingResponse = building;
-							break;
-						}
-					}
-				} else {
-					buildingResponse = cachedBuildings.stream().findFirst().get();
-				}
-				if (buildingResponse != null) {
-					newStatistics.put(SembientAggregatorConstant.CURRENT_FILTER_BUILDING, buildingResponse.getBuildingName());
-				} else {
-					newStatistics.put(SembientAggregatorConstant.CURRENT_FILTER_BUILDING, SembientAggregatorConstant.NO_BUILDING_FOUND);
-				}
-				int index = 0;
-				for (BuildingResponse building : cachedBuildings) {
-					newStatistics.put(String.format(SembientAggregatorConstant.BUILDING_PROPERTY, index + 1), building.getBuildingName());
-					index++;
-				}
-				if (buildingResponse != null) {
-					String buildingID = buildingResponse.getBuildingID();
-					String[] floorNames = buildingResponse.getFloors();
-					// Filter by floors
-					newStatistics.put(SembientAggregatorConstant.BUILDING + buildingResponse.getBuildingName() + SembientAggregatorConstant.HASH + SembientAggregatorConstant.BUILDING_ID, buildingID);
-					newStatistics.put(SembientAggregatorConstant.BUILDING + buildingResponse.getBuildingName() + SembientAggregatorConstant.HASH + SembientAggregatorConstant.ADDRESS,
-							buildingResponse.getAddress());
-					if (StringUtils.isNotNullOrEmpty(floorFilter)) {
-						String[] floorFilters = floorFilter.split(SembientAggregatorConstant.COMMA);
-						int i = 0;
-						for (String filter : floorFilters) {
-							for (String floorName : floorNames) {
-								if (filter.trim().equals(floorName)) {
-									i++;
-									String floorIndex = String.format(SembientAggregatorConstant.HASH + SembientAggregatorConstant.FLOOR_PROPERTY, i);
-									newStatistics.put(SembientAggregatorConstant.BUILDING + buildingResponse.getBuildingName() + floorIndex, floorName);
-									break;
-								}
-							}
-						}
-					} else {
-						int i = 0;
-						for (String floorName : floorNames) {
-							i++;
-							String floorIndex = String.format(SembientAggregatorConstant.HASH + SembientAggregatorConstant.FLOOR_PROPERTY, i);
-							newStatistics.put(SembientAggregatorConstant.BUILDING + buildingResponse.getBuildingName() + floorIndex, floorName);
-						}
+				newStatistics.put(SembientAggregatorConstant.CURRENT_FILTER_BUILDING, SembientAggregatorConstant.NO_BUILDING_FOUND);
+			}
+			int index = 0;
+			for (BuildingResponse building : buildings) {
+				newStatistics.put(String.format(SembientAggregatorConstant.BUILDING_PROPERTY, index + 1), building.getBuildingName());
+				index++;
+			}
+			for (BuildingResponse buildingResponse : filteredBuildings) {
+				String buildingID = buildingResponse.getBuildingID();
+				String[] floorNames = buildingResponse.getFloors();
+				// Filter by floors
+				newStatistics.put(SembientAggregatorConstant.BUILDING + buildingResponse.getBuildingName() + SembientAggregatorConstant.HASH + SembientAggregatorConstant.BUILDING_ID, buildingID);
+				newStatistics.put(SembientAggregatorConstant.BUILDING + buildingResponse.getBuildingName() + SembientAggregatorConstant.HASH + SembientAggregatorConstant.ADDRESS,
+						buildingResponse.getAddress());
+				NameFilter floorNameFilter = compiledFloorFilter;
+				int i = 0;
+				for (String floorName : floorNames) {
+					if (floorNameFilter.matches(floorName)) {
+						i++;
+						String floorIndex = String.format(SembientAggregatorConstant.HASH + SembientAggregatorConstant.FLOOR_PROPERTY, i);
+						newStatistics.put(SembientAggregatorConstant.BUILDING + buildingResponse.getBuildingName() + floorIndex, floorName);
 					}
 				}
 			}
-
-			extendedStatistics.setStatistics(newStatistics);
-		} finally {
-			reentrantLock.unlock();
 		}
+
+		extendedStatistics.setStatistics(newStatistics);
 		return Collections.singletonList(extendedStatistics);
 	}
 
@@ -942,6 +1468,14 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	 */
 	@Override
 	public List<AggregatedDevice> retrieveMultipleStatistics() throws Exception {
+		startDeviceDataCollection();
+		return aggregatedDevices.values().stream().collect(Collectors.toList());
+	}
+
+	/**
+	 * Make sure the device data loader is running, and mark the aggregator as active so the data collection is not paused
+	 */
+	private void startDeviceDataCollection() {
 		if (logger.isDebugEnabled()) {
 			logger.debug(String.format("Adapter initialized: %s, executorService exists: %s, serviceRunning: %s", isInitialized(), executorService != null, serviceRunning));
 		}
@@ -949,10 +1483,10 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 			// Due to the bug that after changing properties on fly - the adapter is destroyed but adapter is not initialized properly,
 			// so executor service is not running. We need to make sure executorService exists
 			executorService = Executors.newFixedThreadPool(8);
+			retryScheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
 			executorService.submit(deviceDataLoader = new SembientDeviceDataLoader());
 		}
 		updateValidRetrieveStatisticsTimestamp();
-		return aggregatedDevices.values().stream().collect(Collectors.toList());
 	}
 
 	/**
@@ -1008,7 +1542,51 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	 */
 	@Override
 	public List<AggregatedDevice> retrieveMultipleStatistics(List<String> list) throws Exception {
-		return retrieveMultipleStatistics().stream().filter(aggregatedDevice -> list.contains(aggregatedDevice.getDeviceId())).collect(Collectors.toList());
+		startDeviceDataCollection();
+		prioritizeDevices(list);
+		return retrieveDevicesByIds(new LinkedHashSet<>(list));
+	}
+
+	/**
+	 * Look devices up in {@link #aggregatedDevices} by id, ids of devices that don't exist are ignored
+	 *
+	 * @param deviceIds device ids
+	 * @return list of aggregated devices
+	 */
+	private List<AggregatedDevice> retrieveDevicesByIds(Collection<String> deviceIds) {
+		List<AggregatedDevice> devices = new ArrayList<>(deviceIds.size());
+		for (String deviceId : deviceIds) {
+			AggregatedDevice aggregatedDevice = aggregatedDevices.get(deviceId);
+			if (aggregatedDevice != null) {
+				devices.add(aggregatedDevice);
+			}
+		}
+		return devices;
+	}
+
+	/**
+	 * Add a device to the floor index
+	 *
+	 * @param deviceID device id
+	 * @param buildingID building id
+	 * @param floorName floor name
+	 */
+	private void indexDevice(String deviceID, String buildingID, String floorName) {
+		deviceIdsByFloor.computeIfAbsent(buildingID + SembientAggregatorConstant.DASH + floorName, key -> ConcurrentHashMap.newKeySet()).add(deviceID);
+	}
+
+	/**
+	 * Remove a device from the floor index, the floor is removed when it has no device left
+	 *
+	 * @param deviceID device id
+	 */
+	private void unindexDevice(String deviceID) {
+		String[] deviceDetails = deviceID.split(SembientAggregatorConstant.DASH);
+		int lastIndex = deviceDetails.length - 1;
+		deviceIdsByFloor.computeIfPresent(deviceDetails[lastIndex - 2] + SembientAggregatorConstant.DASH + deviceDetails[lastIndex - 1], (floorKey, deviceIds) -> {
+			deviceIds.remove(deviceID);
+			return deviceIds.isEmpty() ? null : deviceIds;
+		});
 	}
 
 	/**
@@ -1016,6 +1594,21 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	 */
 	@Override
 	protected HttpHeaders putExtraRequestHeaders(HttpMethod httpMethod, String uri, HttpHeaders headers) throws Exception {
+		// Every REST call (doGet, doPut, doDelete) builds its headers here right before being sent, so it is throttled here
+		requestRateLimiter.acquire();
+		return putAuthorizationHeaders(httpMethod, uri, headers);
+	}
+
+	/**
+	 * Add the authorization headers of the current token, without taking a token from {@link #requestRateLimiter}
+	 *
+	 * @param httpMethod method of the request
+	 * @param uri uri of the request
+	 * @param headers headers of the request
+	 * @return headers with the authorization headers
+	 * @throws Exception if fail to build the headers
+	 */
+	private HttpHeaders putAuthorizationHeaders(HttpMethod httpMethod, String uri, HttpHeaders headers) throws Exception {
 		if (loginResponse != null) {
 			headers.add(SembientAggregatorConstant.X_API_KEY_HEADER, loginResponse.getApiKey());
 			headers.add(SembientAggregatorConstant.AUTHORIZATION, SembientAggregatorConstant.AUTH_TYPE_BEARER + loginResponse.getBearerToken());
@@ -1032,31 +1625,151 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	}
 
 	/**
-	 * Send login command to Sembient cloud, if the token is expired (> 1 hour) then re-login is performed
+	 * Send login command to Sembient cloud, if the token is expired (> 1 hour) then re-login is performed.
+	 * The token is normally refreshed in background before it expires, see {@link #scheduleTokenRefresh(LoginResponse, long)}
 	 *
 	 * @throws FailedLoginException if invalid credentials or Sembient cloud doesn't respond
 	 */
 	private void sembientLogin() throws FailedLoginException {
-		long currentTime = System.currentTimeMillis();
-		if (loginResponse == null || currentTime > loginResponse.getExpirationTime()) {
-			Map<String, String> headers = new HashMap<>();
-			headers.put(SembientAggregatorConstant.ACCEPT_HEADER, SembientAggregatorConstant.APPLICATION_JSON);
-			headers.put(SembientAggregatorConstant.CONTENT_TYPE_HEADER, SembientAggregatorConstant.APPLICATION_JSON);
-			String valueToEncode = this.getLogin() + SembientAggregatorConstant.COLON + this.getPassword();
-			String encodeBasicScheme = SembientAggregatorConstant.BASIC_AUTH_SCHEME + Base64.getEncoder().encodeToString(valueToEncode.getBytes());
-			headers.put(SembientAggregatorConstant.AUTHORIZATION, encodeBasicScheme);
+		synchronized (loginLock) {
+			LoginResponse currentLoginResponse = loginResponse;
+			if (currentLoginResponse == null || System.currentTimeMillis() > currentLoginResponse.getExpirationTime()) {
+				login();
+			}
+		}
+	}
+
+	/**
+	 * Replace the token that was rejected or is about to expire.
+	 * Concurrent callers holding the same stale token share a single login, callers that come after the login reuse the new token.
+	 *
+	 * @param staleLoginResponse login response that was used by the caller
+	 * @return true if a valid token is available
+	 */
+	private boolean refreshLogin(LoginResponse staleLoginResponse) {
+		synchronized (loginLock) {
+			if (loginResponse != null && loginResponse != staleLoginResponse) {
+				// Another caller already logged in
+				return true;
+			}
 			try {
-				String loginRawResponse = this.doPost(SembientAggregatorConstant.COMMAND_USERS_LOGIN, headers, SembientAggregatorConstant.EMPTY);
-				LoginWrapper loginWrapper = new ObjectMapper().readValue(loginRawResponse, LoginWrapper.class);
-				if (SembientAggregatorConstant.STATUS_CODE_401.equals(loginWrapper.getStatusCode())) {
-					throw new FailedLoginException("Wrong username/password.");
+				login();
+				return true;
+			} catch (FailedLoginException e) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Send login command to Sembient cloud, then schedule the refresh of the new token
+	 *
+	 * @throws FailedLoginException if invalid credentials or Sembient cloud doesn't respond
+	 */
+	private void login() throws FailedLoginException {
+		long currentTime = System.currentTimeMillis();
+		Map<String, String> headers = new HashMap<>();
+		headers.put(SembientAggregatorConstant.ACCEPT_HEADER, SembientAggregatorConstant.APPLICATION_JSON);
+		headers.put(SembientAggregatorConstant.CONTENT_TYPE_HEADER, SembientAggregatorConstant.APPLICATION_JSON);
+		String valueToEncode = this.getLogin() + SembientAggregatorConstant.COLON + this.getPassword();
+		String encodeBasicScheme = SembientAggregatorConstant.BASIC_AUTH_SCHEME + Base64.getEncoder().encodeToString(valueToEncode.getBytes());
+		headers.put(SembientAggregatorConstant.AUTHORIZATION, encodeBasicScheme);
+		LoginResponse newLoginResponse;
+		try {
+			requestRateLimiter.acquire();
+			String loginRawResponse = this.doPost(SembientAggregatorConstant.COMMAND_USERS_LOGIN, headers, SembientAggregatorConstant.EMPTY);
+			LoginWrapper loginWrapper = objectMapper.readValue(loginRawResponse, LoginWrapper.class);
+			if (SembientAggregatorConstant.STATUS_CODE_401.equals(loginWrapper.getStatusCode())) {
+				throw new FailedLoginException("Wrong username/password.");
+			}
+			newLoginResponse = loginWrapper.getLoginResponse();
+			newLoginResponse.setExpirationTime(currentTime + newLoginResponse.getExp() * 1000L);
+		} catch (Exception e) {
+			logger.error("An exception occur when trying to log in with error message " + e.getMessage(), e);
+			throw new FailedLoginException("Failed to login. Please check the credentials");
+		}
+		loginResponse = newLoginResponse;
+		// Refresh the token before it expires, half of its lifetime at most
+		long lifetime = newLoginResponse.getExpirationTime() - currentTime;
+		scheduleTokenRefresh(newLoginResponse, lifetime - Math.min(SembientAggregatorConstant.TOKEN_REFRESH_MARGIN, lifetime / 2));
+	}
+
+	/**
+	 * Schedule the background refresh of the token on {@link #retryScheduledExecutorService}.
+	 * If the refresh fails, it is scheduled again after {@link #retryInterval} while the current token is still valid.
+	 *
+	 * @param scheduledLoginResponse login response to be refreshed
+	 * @param delay delay of the refresh in milliseconds
+	 */
+	private void scheduleTokenRefresh(LoginResponse scheduledLoginResponse, long delay) {
+		ScheduledExecutorService scheduler = retryScheduledExecutorService;
+		if (scheduler == null || scheduler.isShutdown() || !serviceRunning) {
+			return;
+		}
+		if (tokenRefreshFuture != null) {
+			tokenRefreshFuture.cancel(false);
+		}
+		try {
+			tokenRefreshFuture = scheduler.schedule(() -> {
+				if (!serviceRunning || loginResponse != scheduledLoginResponse) {
+					return;
 				}
-				loginResponse = loginWrapper.getLoginResponse();
-				loginResponse.setExpirationTime(currentTime + loginResponse.getExp() * 1000L);
-			} catch (Exception e) {
-				logger.error("An exception occur when trying to log in with error message " + e.getMessage(), e);
-				throw new FailedLoginException("Failed to login. Please check the credentials");
+				if (!refreshLogin(scheduledLoginResponse) && System.currentTimeMillis() < scheduledLoginResponse.getExpirationTime()) {
+					scheduleTokenRefresh(scheduledLoginResponse, getRetryIntervalFromUserInput());
+				}
+			}, Math.max(0, delay), TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			// Scheduler is shut down, adapter is being destroyed
+		}
+	}
+
+	/**
+	 * Send the request, if it is rejected with 401 (token expired or revoked) then login again and replay the request once
+	 *
+	 * @param request request to be sent
+	 * @return response of the request
+	 * @throws Exception if the request fails
+	 */
+	<T> T doRequestWithRelogin(Callable<T> request) throws Exception {
+		LoginResponse usedLoginResponse = loginResponse;
+		try {
+			return request.call();
+		} catch (Exception e) {
+			if (!isUnauthorized(e) || !refreshLogin(usedLoginResponse)) {
+				throw e;
 			}
+			// Replay the request with the new token
+			return request.call();
+		}
+	}
+
+	/**
+	 * Check whether a request was rejected with 401 (Unauthorized).
+	 * RestCommunicator reports 401 as {@link FailedLoginException}, streamed requests report it as {@link CommandFailureException}
+	 *
+	 * @param e error of the request
+	 * @return true if the request was rejected with 401
+	 */
+	private boolean isUnauthorized(Exception e) {
+		return e instanceof FailedLoginException || (e instanceof CommandFailureException && ((CommandFailureException) e).getStatusCode() == 401);
+	}
+
+	/**
+	 * Login and fetch all buildings, if another caller is already doing it then the current layout snapshot is kept as is
+	 *
+	 * @throws Exception if fail to login or get array of building
+	 */
+	private void refreshInstallationLayout() throws Exception {
+		if (!layoutRefreshLock.tryLock()) {
+			return;
+		}
+		try {
+			// Login to get the token if token has expired.
+			sembientLogin();
+			// Fetch building
+			fetchBuildings();
+		} finally {
+			layoutRefreshLock.unlock();
 		}
 	}
 
@@ -1091,214 +1804,363 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 			validBuildingAndFloorMetaDataRetrievalPeriodTimestamp = currentTimestamp + SembientAggregatorConstant.DEFAULT_INSTALLATION_LAYOUT_POLLING_CYCLE * SembientAggregatorConstant.MINUTE_TO_MS;
 		}
 		latestBuildingAndFloorData = true;
-		BuildingWrapper buildingWrapper = this.doGetWithRetry(SembientAggregatorConstant.COMMAND_SPACE_BUILDINGS + loginResponse.getCustomerId(), BuildingWrapper.class);
+		String request = SembientAggregatorConstant.COMMAND_SPACE_BUILDINGS + loginResponse.getCustomerId();
+		// Null if the buildings have not changed since the last retrieval, cached buildings are kept as is in that case.
+		// Statistics are built from the buildings right after this call, so the request is sent in the caller thread
+		// instead of waiting behind the requests queued in the worker pool
+		LayoutCacheEntry cachedEntry = cachedLayoutEntries.get(request);
+		ResponseEntity<String> response = this.doGetWithRetryInCallerThread(request, createLayoutRequest(request, cachedEntry));
+		BuildingWrapper buildingWrapper = readLayout(request, request, BuildingWrapper.class, cachedEntry, response);
 		if (buildingWrapper != null) {
-			cachedBuildings.clear();
-			cachedBuildings.addAll(Arrays.asList(buildingWrapper.getBuildingResponse()));
+			Set<BuildingResponse> buildings = ConcurrentHashMap.newKeySet();
+			buildings.addAll(Arrays.asList(buildingWrapper.getBuildingResponse()));
+			cachedBuildings = buildings;
 		}
+		// Notify the loader that the region & sensor list can be refreshed
+		signalDeviceDataLoader();
 	}
 
 	/**
 	 * Fetch the latest list of region & sensor device
 	 *
-	 * @throws Exception if fail to fetch regions & sensors.
+	 * @return future completed when the regions & sensors are fetched, completed exceptionally if fail to fetch regions & sensors
 	 */
-	private void fetchDevicesList() throws Exception {
+	private CompletableFuture<Void> fetchDevicesList() {
 		long currentTimestamp = System.currentTimeMillis();
 		if (!latestBuildingAndFloorData) {
 			if (logger.isDebugEnabled()) {
 				logger.debug(String.format("Region meta data retrieval is in cooldown. %s seconds left", (validBuildingAndFloorMetaDataRetrievalPeriodTimestamp - currentTimestamp) / 1000));
 			}
-			return;
+			return CompletableFuture.completedFuture(null);
 		}
-		// Filter building:
-		if (StringUtils.isNullOrEmpty(buildingFilter) && cachedBuildings.stream().findFirst().isPresent()) {
-			BuildingResponse firstBuilding = cachedBuildings.stream().findFirst().get();
-			String buildingID = firstBuilding.getBuildingID();
-			String buildingName = firstBuilding.getBuildingName();
-			String[] floorNames = firstBuilding.getFloors();
+		// Every floor & region type of the filtered buildings is discovered in its own task, tasks run in parallel (up to discoveryParallelism)
+		// and share the request rate limit
+		Map<String, Supplier<CompletableFuture<Set<String>>>> discoveryTasks = new LinkedHashMap<>();
+		for (BuildingResponse building : getFilteredBuildings(cachedBuildings)) {
 			// Filter by floors
-			filterByFloors(buildingID, buildingName, floorNames);
-		} else {
-			for (BuildingResponse response : cachedBuildings) {
-				if (response.getBuildingName().equals(buildingFilter.trim())) {
-					String buildingID = response.getBuildingID();
-					String buildingName = response.getBuildingName();
-					String[] floorNames = response.getFloors();
-					filterByFloors(buildingID, buildingName, floorNames);
-					break;
-				}
+			filterByFloors(building.getBuildingID(), building.getBuildingName(), building.getFloors(), discoveryTasks);
+		}
+		Map<String, Set<String>> refreshedLayouts = new ConcurrentHashMap<>();
+		// Layouts that were refreshed are applied even if other tasks failed, the failed ones keep their devices
+		return runDiscoveryTasks(discoveryTasks, refreshedLayouts).whenComplete((result, error) -> updateLayoutDevices(discoveryTasks.keySet(), refreshedLayouts))
+				// Notify worker thread that it's a valid time to start fetching details device information.
+				.thenRun(() -> latestBuildingAndFloorData = false);
+	}
+
+	/**
+	 * Retrieves the buildings to be monitored: the buildings matching {@link #buildingFilter},
+	 * or the first building if the filter is not set
+	 *
+	 * @param buildings set of buildings
+	 * @return list of filtered buildings, empty if none of the buildings is found
+	 */
+	private List<BuildingResponse> getFilteredBuildings(Set<BuildingResponse> buildings) {
+		List<BuildingResponse> filteredBuildings = new ArrayList<>();
+		NameFilter buildingNameFilter = compiledBuildingFilter;
+		if (buildingNameFilter.isEmpty()) {
+			buildings.stream().findFirst().ifPresent(filteredBuildings::add);
+			return filteredBuildings;
+		}
+		for (BuildingResponse building : buildings) {
+			if (buildingNameFilter.matches(building.getBuildingName())) {
+				filteredBuildings.add(building);
 			}
 		}
-		// Notify worker thread that it's a valid time to start fetching details device information.
-		latestBuildingAndFloorData = false;
+		return filteredBuildings;
 	}
 
 	/**
-	 * Filter aggregated devices by floorNames
+	 * Filter floors by floorNames, and add the region & sensor discovery tasks of the filtered floors
 	 *
 	 * @param buildingID ID of the building
 	 * @param buildingName name of the building
 	 * @param floorNames Floor names
-	 * @throws Exception if fail to retrieve regions.
+	 * @param discoveryTasks map of layout request and discovery task, tasks of the filtered floors are added to it
 	 */
-	private void filterByFloors(String buildingID, String buildingName, String[] floorNames) throws Exception {
-		if (StringUtils.isNotNullOrEmpty(floorFilter)) {
-			String[] listFloorToBeFilter = floorFilter.split(SembientAggregatorConstant.COMMA);
-			for (String floor : listFloorToBeFilter) {
-				for (String floorName : floorNames) {
-					if (floor.trim().equals(floorName)) {
-						retrieveDevices(buildingID, buildingName, floor, null);
-					}
-				}
-			}
-		} else {
-			for (String floorName : floorNames) {
-				retrieveDevices(buildingID, buildingName, floorName, null);
+	private void filterByFloors(String buildingID, String buildingName, String[] floorNames, Map<String, Supplier<CompletableFuture<Set<String>>>> discoveryTasks) {
+		NameFilter floorNameFilter = compiledFloorFilter;
+		for (String floorName : floorNames) {
+			if (floorNameFilter.matches(floorName)) {
+				addDiscoveryTasks(buildingID, buildingName, floorName, discoveryTasks);
 			}
 		}
 	}
 
 	/**
-	 * Retrieve all regions in building & floor
+	 * Add the region & sensor discovery tasks of a floor, one task per region type of {@link #regionTypeFilter}.
+	 * Region types with wildcards can't be requested from Sembient cloud, so all regions of the floor are requested once
+	 * and filtered by type on the adapter side in that case.
+	 * The future of a task is completed with the ids of the devices discovered from its layout request, or null if the layout has not changed.
 	 *
 	 * @param buildingID building id
 	 * @param buildingName building name
 	 * @param floorName floor name
-	 * @param deviceType type of region
-	 * @throws Exception if fail to get region
-	 */
-	void retrieveDevices(String buildingID, String buildingName, String floorName, String deviceType) throws Exception {
-		if (deviceType == null) {
-			// Fetch all devices
-			// 1. Fetch regions
-			if (StringUtils.isNotNullOrEmpty(regionTypeFilter)) {
-				String[] listTypeToBeFilter = regionTypeFilter.split(SembientAggregatorConstant.COMMA);
-				for (String regionType : listTypeToBeFilter) {
-					retrieveRegions(buildingID, buildingName, floorName, regionType.trim());
-				}
-			} else {
-				retrieveRegions(buildingID, buildingName, floorName, null);
-				// 2. Fetch sensors
-				retrieveSensors(buildingID, buildingName, floorName);
+	 * @param discoveryTasks map of layout request and discovery task, tasks of the floor are added to it
+	 */
+	private void addDiscoveryTasks(String buildingID, String buildingName, String floorName, Map<String, Supplier<CompletableFuture<Set<String>>>> discoveryTasks) {
+		NameFilter regionTypeNameFilter = compiledRegionTypeFilter;
+		if (regionTypeNameFilter.hasWildcard()) {
+			String request = buildRegionsRequest(buildingID, floorName, null);
+			discoveryTasks.put(request, () -> {
+				Set<String> deviceIds = new HashSet<>();
+				return retrieveRegions(request, buildingID, buildingName, floorName, deviceIds).thenApply(regionResponses -> regionResponses == null ? null : deviceIds);
+			});
+		} else if (!regionTypeNameFilter.isEmpty()) {
+			for (String regionType : regionTypeNameFilter.getNames()) {
+				String request = buildRegionsRequest(buildingID, floorName, regionType);
+				discoveryTasks.put(request, () -> {
+					Set<String> deviceIds = new HashSet<>();
+					return retrieveRegions(request, buildingID, buildingName, floorName, deviceIds).thenApply(regionResponses -> regionResponses == null ? null : deviceIds);
+				});
 			}
 		} else {
-			if (deviceType.equals(SembientAggregatorConstant.SENSOR)) {
-				retrieveSensors(buildingID, buildingName, floorName);
-			} else if (deviceType.equals(SembientAggregatorConstant.REGION)) {
-				if (StringUtils.isNotNullOrEmpty(regionTypeFilter)) {
-					String[] listTypeToBeFilter = regionTypeFilter.split(SembientAggregatorConstant.COMMA);
-					for (String regionType : listTypeToBeFilter) {
-						retrieveRegions(buildingID, buildingName, floorName, regionType.trim());
+			String request = buildRegionsRequest(buildingID, floorName, null);
+			discoveryTasks.put(request, () -> {
+				Set<String> deviceIds = new HashSet<>();
+				return retrieveRegions(request, buildingID, buildingName, floorName, deviceIds).thenApply(regionResponses -> {
+					if (regionResponses == null) {
+						return null;
 					}
-				} else {
-					retrieveRegions(buildingID, buildingName, floorName, null);
-				}
+					// Sensors are derived from the same region list, so it is requested only once per floor
+					fetchSensorMetadata(buildingID, buildingName, floorName, regionResponses, deviceIds);
+					return deviceIds;
+				});
+			});
+		}
+	}
+
+	/**
+	 * Run discovery tasks, at most {@link #discoveryParallelism} tasks at a time.
+	 * The next task is started when a task is finished, so no worker thread is held while waiting for a free slot or for a layout response.
+	 * Devices are merged into {@link #aggregatedDevices} by the tasks themselves.
+	 *
+	 * @param discoveryTasks map of layout request and discovery task
+	 * @param refreshedLayouts map of layout request and ids of the discovered devices, filled with the layouts that have changed
+	 * @return future completed when every task is finished, completed exceptionally with the first error of the tasks
+	 */
+	private CompletableFuture<Void> runDiscoveryTasks(Map<String, Supplier<CompletableFuture<Set<String>>>> discoveryTasks, Map<String, Set<String>> refreshedLayouts) {
+		Queue<Entry<String, Supplier<CompletableFuture<Set<String>>>>> pendingTasks = new ConcurrentLinkedQueue<>(discoveryTasks.entrySet());
+		AtomicReference<Throwable> discoveryError = new AtomicReference<>();
+		int parallelism = Math.min(getDiscoveryParallelismFromUserInput(), discoveryTasks.size());
+		List<CompletableFuture<Void>> workers = new ArrayList<>();
+		for (int i = 0; i < parallelism; i++) {
+			workers.add(runNextDiscoveryTask(pendingTasks, refreshedLayouts, discoveryError));
+		}
+		return CompletableFuture.allOf(workers.toArray(new CompletableFuture[0])).thenRun(() -> {
+			if (discoveryError.get() != null) {
+				// Devices discovered by the other tasks are kept, the discovery is run again in the next cycle
+				throw new CompletionException(discoveryError.get());
+			}
+		});
+	}
+
+	/**
+	 * Run the next pending discovery task, then the one after it until no task is pending
+	 *
+	 * @param pendingTasks queue of pending discovery tasks
+	 * @param refreshedLayouts map of layout request and ids of the discovered devices, filled with the layouts that have changed
+	 * @param discoveryError first error of the tasks
+	 * @return future completed when no task is pending
+	 */
+	private CompletableFuture<Void> runNextDiscoveryTask(Queue<Entry<String, Supplier<CompletableFuture<Set<String>>>>> pendingTasks, Map<String, Set<String>> refreshedLayouts,
+			AtomicReference<Throwable> discoveryError) {
+		Entry<String, Supplier<CompletableFuture<Set<String>>>> task = pendingTasks.poll();
+		if (task == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		CompletableFuture<Set<String>> discovery;
+		try {
+			discovery = task.getValue().get();
+		} catch (Exception e) {
+			discovery = new CompletableFuture<>();
+			discovery.completeExceptionally(e);
+		}
+		return discovery.handle((deviceIds, error) -> {
+			if (error != null) {
+				Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+				logger.error("Error occurred during region & sensor list retrieval: " + cause.getMessage(), cause);
+				discoveryError.compareAndSet(null, cause);
+			} else if (deviceIds != null) {
+				refreshedLayouts.put(task.getKey(), deviceIds);
+			}
+			return null;
+		}).thenCompose(result -> runNextDiscoveryTask(pendingTasks, refreshedLayouts, discoveryError));
+	}
+
+	/**
+	 * Diff the devices of the layout refresh against the previous layout.
+	 * Devices of the layouts that have not changed (or failed) are kept, devices that are no longer part of any layout are removed
+	 * with {@link #removeDevices(Set)}.
+	 *
+	 * @param layoutRequests layout requests of the filtered buildings & floors
+	 * @param refreshedLayouts map of layout request and ids of the discovered devices, for the layouts that have changed
+	 */
+	private void updateLayoutDevices(Set<String> layoutRequests, Map<String, Set<String>> refreshedLayouts) {
+		Set<String> previousDeviceIds = new HashSet<>();
+		layoutDevices.values().forEach(previousDeviceIds::addAll);
+		Map<String, Set<String>> currentLayoutDevices = new HashMap<>();
+		for (String request : layoutRequests) {
+			Set<String> deviceIds = refreshedLayouts.containsKey(request) ? refreshedLayouts.get(request) : layoutDevices.get(request);
+			if (deviceIds != null) {
+				currentLayoutDevices.put(request, deviceIds);
+			} else {
+				// The layout was never fully discovered, the validators are dropped so the next refresh requests the whole layout
+				cachedLayoutEntries.remove(request);
+			}
+		}
+		for (String request : layoutDevices.keySet()) {
+			if (!layoutRequests.contains(request)) {
+				// Floor or building is no longer filtered, the whole layout is requested again if it comes back
+				cachedLayoutEntries.remove(request);
 			}
 		}
+		Set<String> currentDeviceIds = new HashSet<>();
+		currentLayoutDevices.values().forEach(currentDeviceIds::addAll);
+		Set<String> removedDeviceIds = new HashSet<>(previousDeviceIds);
+		removedDeviceIds.removeAll(currentDeviceIds);
+		// Devices of the previous layout that are still in the current layout are kept as they are
+		long addedDevicesCount = currentDeviceIds.stream().filter(deviceId -> !previousDeviceIds.contains(deviceId)).count();
+		layoutDevices.keySet().retainAll(currentLayoutDevices.keySet());
+		layoutDevices.putAll(currentLayoutDevices);
+		removeDevices(removedDeviceIds);
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Layout refreshed: %s devices added, %s devices removed, %s layouts changed", addedDevicesCount, removedDeviceIds.size(), refreshedLayouts.size()));
+		}
 	}
 
 	/**
-	 * Retrieve all regions in building & floor
+	 * Remove devices that no longer exist from every per-device map, and the floors without devices from the polling schedule
+	 *
+	 * @param deviceIds ids of the devices to be removed
+	 */
+	private void removeDevices(Set<String> deviceIds) {
+		if (deviceIds.isEmpty()) {
+			return;
+		}
+		for (String deviceId : deviceIds) {
+			unindexDevice(deviceId);
+			aggregatedDevices.remove(deviceId);
+			cachedRealDeviceCategory.remove(deviceId);
+			aggregatedDeviceHourMap.remove(deviceId);
+			aggregatedDeviceOccupancyMap.remove(deviceId);
+			aggregatedDeviceTagMap.remove(deviceId);
+			lastNewTag.remove(deviceId);
+			removeDeviceControlLock(deviceId);
+			prioritizedDevices.remove(deviceId);
+		}
+		Set<String> floorKeys = deviceIdsByFloor.keySet();
+		// Schedule keys are <metric family>-<building id>-<floor name>, metric families don't contain dash
+		nextFloorDataCollectionTimestamps.keySet().removeIf(key -> !floorKeys.contains(key.substring(key.indexOf(SembientAggregatorConstant.DASH) + 1)));
+		lastFloorDataCollectionTimestamps.keySet().removeIf(key -> !floorKeys.contains(key.substring(key.indexOf(SembientAggregatorConstant.DASH) + 1)));
+		lastPriorityCollectionTimestamps.keySet().retainAll(floorKeys);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Removed devices that no longer exist: " + deviceIds);
+		}
+	}
+
+	/**
+	 * Build the request of the region list of a floor
 	 *
 	 * @param buildingID building ID
-	 * @param buildingName building name
 	 * @param floorName floor name
-	 * @param regionType type of region
-	 * @throws Exception if fail to get region
+	 * @param regionType type of region, null for all regions
+	 * @return region list request
 	 */
-	void retrieveRegions(String buildingID, String buildingName, String floorName, String regionType) throws Exception {
-		String request;
+	private String buildRegionsRequest(String buildingID, String floorName, String regionType) {
+		String request = SembientAggregatorConstant.COMMAND_SPACE_REGIONS + this.loginResponse.getCustomerId() + SembientAggregatorConstant.SLASH + buildingID + SembientAggregatorConstant.SLASH + floorName;
 		if (regionType != null) {
-			request = SembientAggregatorConstant.COMMAND_SPACE_REGIONS + this.loginResponse.getCustomerId() + SembientAggregatorConstant.SLASH + buildingID + SembientAggregatorConstant.SLASH + floorName
-					+ SembientAggregatorConstant.PARAM_REGION_TYPE + regionType;
-		} else {
-			request = SembientAggregatorConstant.COMMAND_SPACE_REGIONS + this.loginResponse.getCustomerId() + SembientAggregatorConstant.SLASH + buildingID + SembientAggregatorConstant.SLASH + floorName;
+			request += SembientAggregatorConstant.PARAM_REGION_TYPE + regionType;
 		}
-		RegionWrapper regionWrapper = this.doGetWithRetry(request, RegionWrapper.class);
-		if (regionWrapper != null) {
+		return request;
+	}
+
+	/**
+	 * Retrieve all regions in building & floor
+	 *
+	 * @param request region list request, see {@link #buildRegionsRequest(String, String, String)}
+	 * @param buildingID building ID
+	 * @param buildingName building name
+	 * @param floorName floor name
+	 * @param deviceIds ids of the discovered devices, the regions are added to it
+	 * @return future completed with array of region responses, null if the regions have not changed since the last retrieval
+	 */
+	CompletableFuture<RegionResponse[]> retrieveRegions(String request, String buildingID, String buildingName, String floorName, Set<String> deviceIds) {
+		// Null if the regions have not changed since the last retrieval, the devices of the floor are kept as is in that case
+		return this.doGetLayoutWithRetry(request, request, RegionWrapper.class).thenApply(regionWrapper -> {
+			if (regionWrapper == null) {
+				return null;
+			}
 			RegionResponse[] regionResponses = regionWrapper.getRegionResponse();
 			if (regionResponses.length != 0) {
-				fetchRegionMetadata(buildingID, buildingName, floorName, regionResponses);
+				fetchRegionMetadata(buildingID, buildingName, floorName, regionResponses, deviceIds);
 			}
-		}
+			return regionResponses;
+		});
 	}
 
 	/**
-	 * Retrieve all regions in building & floor
+	 * Fetch metadata for sensor (sensor name, regions) from the region list of a floor
 	 *
 	 * @param buildingID building ID
 	 * @param buildingName building name
 	 * @param floorName floor name
-	 * @throws Exception if fail to get air quality wrapper
+	 * @param regionResponses Array of region responses
+	 * @param deviceIds ids of the discovered devices, the sensors are added to it
 	 */
-	void retrieveSensors(String buildingID, String buildingName, String floorName) throws Exception {
-		String request;
-		request = SembientAggregatorConstant.COMMAND_SPACE_REGIONS + this.loginResponse.getCustomerId() + SembientAggregatorConstant.SLASH + buildingID + SembientAggregatorConstant.SLASH + floorName;
-		RegionWrapper regionWrapper = this.doGetWithRetry(request, RegionWrapper.class);
+	private void fetchSensorMetadata(String buildingID, String buildingName, String floorName, RegionResponse[] regionResponses, Set<String> deviceIds) {
 		Map<String, String> sensors = new HashMap<>();
-		if (regionWrapper != null) {
-			RegionResponse[] regionResponses = regionWrapper.getRegionResponse();
-			if (regionResponses.length != 0) {
-				for (RegionResponse response : regionResponses
-				) {
-					String regionName = response.getRegionName();
-					String[] sensorNames = response.getSensors();
-					for (String sensorName : sensorNames) {
-						if (sensors.get(sensorName) == null) {
-							sensors.put(sensorName, regionName);
-						} else {
-							String value = sensors.get(sensorName);
-							if (!value.contains(regionName)) {
-								value += SembientAggregatorConstant.COMMA + regionName;
-								sensors.put(sensorName, value);
-							}
-						}
+		for (RegionResponse response : regionResponses) {
+			String regionName = response.getRegionName();
+			String[] sensorNames = response.getSensors();
+			for (String sensorName : sensorNames) {
+				if (sensors.get(sensorName) == null) {
+					sensors.put(sensorName, regionName);
+				} else {
+					String value = sensors.get(sensorName);
+					if (!value.contains(regionName)) {
+						value += SembientAggregatorConstant.COMMA + regionName;
+						sensors.put(sensorName, value);
 					}
 				}
 			}
-			for (Entry<String, String> sensorResponse : sensors.entrySet()) {
-				String sensorName = sensorResponse.getKey();
-				boolean isContinue = false;
-				// Filter by device name:
-				if (StringUtils.isNotNullOrEmpty(deviceNameFilter)) {
-					String[] sensorNames = deviceNameFilter.split(SembientAggregatorConstant.COMMA);
-					for (String sensor : sensorNames) {
-						if (sensor.trim().equals(sensorName)) {
-							isContinue = true;
-							break;
-						}
-					}
-				}
-				if (StringUtils.isNotNullOrEmpty(deviceNameFilter) && !isContinue) {
-					continue;
-				}
+		}
+		NameFilter nameFilter = compiledDeviceNameFilter;
+		for (Entry<String, String> sensorResponse : sensors.entrySet()) {
+			String sensorName = sensorResponse.getKey();
+			// Filter by device name:
+			if (!nameFilter.matches(sensorName)) {
+				continue;
+			}
 
-				AggregatedDevice sensorDevice = new AggregatedDevice();
-				String deviceID =
-						SembientAggregatorConstant.SENSOR + SembientAggregatorConstant.DASH + loginResponse.getCustomerId() + SembientAggregatorConstant.DASH + buildingID + SembientAggregatorConstant.DASH
-								+ floorName + SembientAggregatorConstant.DASH + sensorName;
-				sensorDevice.setDeviceId(deviceID);
-				sensorDevice.setType(SembientAggregatorConstant.DEFAULT_SENSOR_TYPE);
-				sensorDevice.setCategory(SembientAggregatorConstant.DEFAULT_SENSOR_CATEGORY);
-				sensorDevice.setDeviceMake(SembientAggregatorConstant.DEFAULT_SENSOR_MANUFACTURER);
-				sensorDevice.setDeviceModel(SembientAggregatorConstant.DEFAULT_SENSOR_MODEL);
-				sensorDevice.setDeviceOnline(true);
-				sensorDevice.setDeviceName(sensorName);
-				cachedRealDeviceCategory.put(deviceID, SembientAggregatorConstant.DEFAULT_SENSOR_CATEGORY);
-				Map<String, String> properties = new HashMap<>();
-				if (aggregatedDevices.get(deviceID) != null && !aggregatedDevices.get(deviceID).getProperties().isEmpty()) {
-					properties = aggregatedDevices.get(deviceID).getProperties();
-				} else {
-					if (!SembientAggregatorConstant.EMPTY.equals(sensorResponse.getValue())) {
-						properties.put(SembientAggregatorConstant.REGIONS, sensorResponse.getValue());
-					}
-					properties.put(SembientAggregatorConstant.BUILDING_NAME, buildingName);
-					properties.put(SembientAggregatorConstant.FLOOR_NAME, floorName);
+			AggregatedDevice sensorDevice = new AggregatedDevice();
+			String deviceID =
+					SembientAggregatorConstant.SENSOR + SembientAggregatorConstant.DASH + loginResponse.getCustomerId() + SembientAggregatorConstant.DASH + buildingID + SembientAggregatorConstant.DASH
+							+ floorName + SembientAggregatorConstant.DASH + sensorName;
+			sensorDevice.setDeviceId(deviceID);
+			sensorDevice.setType(SembientAggregatorConstant.DEFAULT_SENSOR_TYPE);
+			sensorDevice.setCategory(SembientAggregatorConstant.DEFAULT_SENSOR_CATEGORY);
+			sensorDevice.setDeviceMake(SembientAggregatorConstant.DEFAULT_SENSOR_MANUFACTURER);
+			sensorDevice.setDeviceModel(SembientAggregatorConstant.DEFAULT_SENSOR_MODEL);
+			sensorDevice.setDeviceOnline(true);
+			sensorDevice.setDeviceName(sensorName);
+			cachedRealDeviceCategory.put(deviceID, SembientAggregatorConstant.DEFAULT_SENSOR_CATEGORY);
+			Map<String, String> properties = new HashMap<>();
+			if (aggregatedDevices.get(deviceID) != null && !aggregatedDevices.get(deviceID).getProperties().isEmpty()) {
+				properties = aggregatedDevices.get(deviceID).getProperties();
+				// Regions of the sensor may have changed in the layout
+				updateLayoutProperty(deviceID, properties, SembientAggregatorConstant.REGIONS,
+						SembientAggregatorConstant.EMPTY.equals(sensorResponse.getValue()) ? null : sensorResponse.getValue());
+			} else {
+				if (!SembientAggregatorConstant.EMPTY.equals(sensorResponse.getValue())) {
+					properties.put(SembientAggregatorConstant.REGIONS, sensorResponse.getValue());
 				}
-				sensorDevice.setProperties(properties);
-				aggregatedDevices.put(deviceID, sensorDevice);
+				properties.put(SembientAggregatorConstant.BUILDING_NAME, buildingName);
+				properties.put(SembientAggregatorConstant.FLOOR_NAME, floorName);
 			}
+			sensorDevice.setProperties(properties);
+			aggregatedDevices.put(deviceID, sensorDevice);
+			indexDevice(deviceID, buildingID, floorName);
+			deviceIds.add(deviceID);
 		}
 	}
 
@@ -1309,21 +2171,18 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	 * @param buildingName building name
 	 * @param floorName floor name
 	 * @param regionResponses Array of region responses
+	 * @param deviceIds ids of the discovered devices, the regions are added to it
 	 */
-	private void fetchRegionMetadata(String buildingID, String buildingName, String floorName, RegionResponse[] regionResponses) {
+	private void fetchRegionMetadata(String buildingID, String buildingName, String floorName, RegionResponse[] regionResponses, Set<String> deviceIds) {
+		NameFilter nameFilter = compiledDeviceNameFilter;
+		NameFilter regionTypeNameFilter = compiledRegionTypeFilter;
 		for (RegionResponse region : regionResponses) {
-			boolean isContinue = false;
 			// Filter by device name:
-			if (StringUtils.isNotNullOrEmpty(deviceNameFilter)) {
-				String[] regionNames = deviceNameFilter.split(SembientAggregatorConstant.COMMA);
-				for (String regionName : regionNames) {
-					if (regionName.trim().equals(region.getRegionName())) {
-						isContinue = true;
-						break;
-					}
-				}
+			if (!nameFilter.matches(region.getRegionName())) {
+				continue;
 			}
-			if (StringUtils.isNotNullOrEmpty(deviceNameFilter) && !isContinue) {
+			// Filter by region type, only needed when the region types with wildcards could not be requested from Sembient cloud
+			if (regionTypeNameFilter.hasWildcard() && !regionTypeNameFilter.matches(region.getRegionType())) {
 				continue;
 			}
 			AggregatedDevice aggregatedDevice = new AggregatedDevice();
@@ -1344,6 +2203,9 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 			if (aggregatedDevices.get(aggregatedDevice.getDeviceId()) != null) {
 				Map<String, String> propertiesFromCached = aggregatedDevices.get(aggregatedDevice.getDeviceId()).getProperties();
 				List<AdvancedControllableProperty> controlsFromCached = aggregatedDevices.get(aggregatedDevice.getDeviceId()).getControllableProperties();
+				// Capacity and type of the region may have changed in the layout
+				updateLayoutProperty(deviceID, propertiesFromCached, SembientAggregatorConstant.CAPACITY, region.getCapacity());
+				updateLayoutProperty(deviceID, propertiesFromCached, SembientAggregatorConstant.REGION_TYPE_PROPERTIES, region.getRegionType());
 				aggregatedDevice.setProperties(propertiesFromCached);
 				aggregatedDevice.setControllableProperties(controlsFromCached);
 			} else {
@@ -1356,18 +2218,46 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 				aggregatedDevice.setControllableProperties(new ArrayList<>());
 			}
 			aggregatedDevices.put(aggregatedDevice.getDeviceId(), aggregatedDevice);
+			indexDevice(deviceID, buildingID, floorName);
+			deviceIds.add(deviceID);
+		}
+	}
+
+	/**
+	 * Update a property of a device that comes from the installation layout, if the layout has changed it
+	 *
+	 * @param deviceID device id
+	 * @param properties properties of the device
+	 * @param propertyName name of the property
+	 * @param value value of the property in the layout, null to remove the property
+	 */
+	private void updateLayoutProperty(String deviceID, Map<String, String> properties, String propertyName, String value) {
+		if (Objects.equals(properties.get(propertyName), value)) {
+			return;
+		}
+		if (value == null) {
+			properties.remove(propertyName);
+		} else {
+			properties.put(propertyName, value);
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Layout property %s of device %s changed to %s", propertyName, deviceID, value));
 		}
 	}
 
 	/**
-	 * Populate device details information
+	 * Populate details information of all devices located on a floor.
+	 * Timeseries endpoints return the data of the whole floor, so sensors and regions of the floor are populated together
+	 * from a single request per metric family.
 	 *
-	 * @param aggregatedDevice Aggregated device that get from {@link SembientAggregatorCommunicator#fetchDevicesList}
+	 * @param buildingID building ID
+	 * @param floorName floor name
+	 * @param devices list of aggregated devices located on the floor
+	 * @param isPrioritized whether the floor has prioritized devices, then Thermal, Airquality, Occupancy are collected before they are due
+	 * if their data is older than {@link SembientAggregatorConstant#PRIORITY_COLLECTION_RATIO} of their polling cycle
+	 * @return future completed when the data of every metric family of the floor is populated
 	 */
-	void populateRegionDetails(AggregatedDevice aggregatedDevice) throws Exception {
-		// Get cached properties and controls
-		Map<String, String> properties = aggregatedDevice.getProperties();
-		List<AdvancedControllableProperty> controls = aggregatedDevice.getControllableProperties();
+	CompletableFuture<Void> populateFloorDetails(String buildingID, String floorName, List<AggregatedDevice> devices, boolean isPrioritized) {
 		// Get current date:
 		DateTimeFormatter formatter = DateTimeFormatter.ofPattern(SembientAggregatorConstant.YYYY_MM_DD);
 		LocalDate now = LocalDate.now(ZoneId.of(SembientAggregatorConstant.UTC_TIMEZONE));
@@ -1375,131 +2265,257 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 		LocalDate yesterday = LocalDate.now(ZoneId.of(SembientAggregatorConstant.UTC_TIMEZONE)).minusDays(1);
 		String currentDate = formatter.format(now);
 		String yesterdayDate = formatter.format(yesterday);
-
-		String deviceId = aggregatedDevice.getDeviceId();
-
-		String deviceName = aggregatedDevice.getDeviceName();
-		String[] rawBuildingInfo = deviceId.split(SembientAggregatorConstant.DASH);
-		int lastIndex = rawBuildingInfo.length - 1;
-		String buildingID = rawBuildingInfo[lastIndex - 2];
-		String floorName = rawBuildingInfo[lastIndex - 1];
-		int numberOfRetryInInt = getNumberOfRetryFromUserInput();
-		long retryIntervalInLong = getRetryIntervalFromUserInput();
-		if (SembientAggregatorConstant.DEFAULT_SENSOR_CATEGORY.equals(cachedRealDeviceCategory.get(aggregatedDevice.getDeviceId()))) {
+		// Dates are formatted as yyyy-MM-dd, so days older than yesterday are sorted before it
+		closedDayTimeseries.keySet().removeIf(date -> date.compareTo(yesterdayDate) < 0);
+
+		List<AggregatedDevice> sensors = new ArrayList<>();
+		List<AggregatedDevice> regions = new ArrayList<>();
+		for (AggregatedDevice aggregatedDevice : devices) {
+			if (SembientAggregatorConstant.DEFAULT_SENSOR_CATEGORY.equals(cachedRealDeviceCategory.get(aggregatedDevice.getDeviceId()))) {
+				sensors.add(aggregatedDevice);
+			} else {
+				regions.add(aggregatedDevice);
+			}
+		}
+		long currentTime = System.currentTimeMillis();
+		List<CompletableFuture<Boolean>> populateFutures = new ArrayList<>();
+		if (!sensors.isEmpty()) {
 			// Retrieve IAQ data
-			CompletableFuture<Boolean> iaqFuture = CompletableFuture.supplyAsync(() -> populateIAQData(properties, currentDate, yesterdayDate, buildingID, floorName, deviceName), executorService);
+			if (isFloorDataCollectionDue(SembientAggregatorConstant.AIR_QUALITY, buildingID, floorName, currentTime, isPrioritized)) {
+				populateFutures.add(populateFloorDataWithRetry(SembientAggregatorConstant.AIR_QUALITY, buildingID, floorName,
+						() -> populateFloorIAQData(sensors, currentDate, yesterdayDate, buildingID, floorName)));
+			}
 			// Retrieve thermal data
-			CompletableFuture<Boolean> thermalFuture = CompletableFuture.supplyAsync(() -> populateThermalData(properties, currentDate, yesterdayDate, buildingID, floorName, deviceName), executorService);
-
-			// retry on 429 error
-			iaqFuture.thenApply(result -> {
-				if (!result) {
-					int attemptRetry = 1;
-					boolean isHavingData;
-					do {
-						// wait to next retry interval
-						try {
-							Thread.sleep(retryIntervalInLong);
-						} catch (InterruptedException e) {
-							logger.error(String.format("error while retrieve thermal data: %s", e.getMessage()));
-						}
-
-						isHavingData = populateIAQData(properties, currentDate, yesterdayDate, buildingID, floorName, deviceName);
-						if (isHavingData) {
-							break;
-						}
-					} while (attemptRetry++ < numberOfRetryInInt);
-				}
-				return false;
-			});
+			if (isFloorDataCollectionDue(SembientAggregatorConstant.THERMAL, buildingID, floorName, currentTime, isPrioritized)) {
+				populateFutures.add(populateFloorDataWithRetry(SembientAggregatorConstant.THERMAL, buildingID, floorName,
+						() -> populateFloorThermalData(sensors, currentDate, yesterdayDate, buildingID, floorName)));
+			}
+		}
+		if (!regions.isEmpty()) {
+			// Retrieve occupancy data
+			boolean isOccupancyDue = isFloorDataCollectionDue(SembientAggregatorConstant.OCCUPANCY_LIST, buildingID, floorName, currentTime, isPrioritized);
+			if (isOccupancyDue) {
+				populateFutures.add(populateFloorDataWithRetry(SembientAggregatorConstant.OCCUPANCY_LIST, buildingID, floorName,
+						() -> populateFloorOccupancyData(regions, currentDate, yesterdayDate, buildingID, floorName)));
+			}
+			// Retrieve region tags, they rarely change so they are refreshed every regionTagPollingCycle only,
+			// regions without tag controls yet get them with the next occupancy collection
+			if (isFloorDataCollectionDue(SembientAggregatorConstant.REGION_TAG, buildingID, floorName, currentTime, false) || (isOccupancyDue && isRegionTagMissing(regions))) {
+				populateFutures.add(populateFloorDataWithRetry(SembientAggregatorConstant.REGION_TAG, buildingID, floorName, () -> populateFloorRegionTags(regions, buildingID, floorName)));
+			}
+		}
+		return CompletableFuture.allOf(populateFutures.toArray(new CompletableFuture[0]));
+	}
 
-			// retry on 429 error
-			thermalFuture.thenApply(result -> {
-				if (!result) {
-					int attemptRetry = 1;
-					boolean isHavingData;
-					do {
-						// wait to next retry interval
-						try {
-							Thread.sleep(retryIntervalInLong);
-						} catch (InterruptedException e) {
-							logger.error(String.format("error while retrieve thermal data: %s", e.getMessage()));
-						}
+	/**
+	 * Run the data population of a metric family of a floor with {@link #populateWithRetry(Supplier)}.
+	 * Once it is finished, the next collection of the family is scheduled in the slot of the floor in the next polling window,
+	 * see {@link #getNextFloorDataCollectionTimestamp(String, String, String, long)}.
+	 *
+	 * @param family metric family: AirQuality, Thermal, OccupancyList or RegionTags
+	 * @param buildingID building ID
+	 * @param floorName floor name
+	 * @param populateData data population to be run, its future is completed with false if the attempt got 429 error
+	 * @return future completed with the result of the last attempt
+	 */
+	private CompletableFuture<Boolean> populateFloorDataWithRetry(String family, String buildingID, String floorName, Supplier<CompletableFuture<Boolean>> populateData) {
+		String scheduleKey = family + SembientAggregatorConstant.DASH + buildingID + SembientAggregatorConstant.DASH + floorName;
+		return populateWithRetry(populateData).whenComplete((isHavingData, error) -> {
+			long currentTime = System.currentTimeMillis();
+			if (Boolean.TRUE.equals(isHavingData)) {
+				lastFloorDataCollectionTimestamps.put(scheduleKey, currentTime);
+			}
+			nextFloorDataCollectionTimestamps.put(scheduleKey, getNextFloorDataCollectionTimestamp(family, buildingID, floorName, currentTime));
+		});
+	}
 
-						isHavingData = populateThermalData(properties, currentDate, yesterdayDate, buildingID, floorName, deviceName);
-						if (isHavingData) {
-							break;
-						}
-					} while (attemptRetry++ < numberOfRetryInInt);
-				}
-				return false;
-			});
-		} else {
-			// Retrieve occupancy data
-			CompletableFuture<Boolean> occupancyFuture = CompletableFuture.supplyAsync(
-					() -> populateOccupancyData(properties, controls, currentDate, yesterdayDate, deviceId, buildingID, floorName, deviceName), executorService);
-			// Retrieve region tags
-			CompletableFuture<Boolean> regionTagFuture = CompletableFuture.supplyAsync(
-					() -> populateRegionTag(properties, controls, deviceId), executorService);
-
-			// retry on 429 error
-			occupancyFuture.thenApply(result -> {
-				if (!result) {
-					int attemptRetry = 1;
-					boolean isHavingData;
-					do {
-						// wait to next retry interval
-						try {
-							Thread.sleep(retryIntervalInLong);
-						} catch (InterruptedException e) {
-							logger.error(String.format("error while retrieve thermal data: %s", e.getMessage()));
-						}
-						isHavingData = populateOccupancyData(properties, controls, currentDate, yesterdayDate, deviceId, buildingID, floorName, deviceName);
-						if (isHavingData) {
-							break;
-						}
-					} while (attemptRetry++ < numberOfRetryInInt);
-				}
-				return false;
-			});
+	/**
+	 * Calculate when the data of a metric family of a floor needs to be collected again.
+	 * Every floor has a stable phase offset within the polling window (derived from its building id and floor name), so floors are
+	 * spread evenly across the window instead of being requested all at once. A small random jitter is added on top of the offset,
+	 * so floors with close offsets don't stay aligned.
+	 * Consecutive collections are one polling cycle apart on average, but the first collection after the floor is discovered happens
+	 * right away, so the next one can be between {@link SembientAggregatorConstant#POLLING_SLOT_SKIP_RATIO} and 1 + POLLING_SLOT_SKIP_RATIO
+	 * cycles later (plus up to {@link SembientAggregatorConstant#POLLING_JITTER_RATIO} of a cycle) to reach the slot of the floor.
+	 *
+	 * @param family metric family: AirQuality, Thermal, OccupancyList or RegionTags
+	 * @param buildingID building ID
+	 * @param floorName floor name
+	 * @param currentTime current timestamp
+	 * @return timestamp of the next collection
+	 */
+	long getNextFloorDataCollectionTimestamp(String family, String buildingID, String floorName, long currentTime) {
+		long interval = getFloorDataPollingCycleFromUserInput(family);
+		long phase = Math.floorMod((long) (buildingID + SembientAggregatorConstant.DASH + floorName).hashCode(), interval);
+		// Start of the slot of the floor in the current polling window
+		long slotStart = currentTime - Math.floorMod(currentTime - phase, interval);
+		long nextCollectionTimestamp = slotStart + interval;
+		if (nextCollectionTimestamp - currentTime < (long) (interval * SembientAggregatorConstant.POLLING_SLOT_SKIP_RATIO)) {
+			// Collected late in its slot (first collection or retries), skip the next slot so the floor isn't collected twice in a row
+			nextCollectionTimestamp += interval;
+		}
+		long maxJitter = (long) (interval * SembientAggregatorConstant.POLLING_JITTER_RATIO);
+		return nextCollectionTimestamp + ThreadLocalRandom.current().nextLong(maxJitter + 1);
+	}
 
-			// retry on 429 error
-			regionTagFuture.thenApply(result -> {
-				if (!result) {
-					int attemptRetry = 1;
-					boolean isHavingData;
-					do {
-						// wait to next retry interval
-						try {
-							Thread.sleep(retryIntervalInLong);
-						} catch (InterruptedException e) {
-							logger.error(String.format("error while retrieve thermal data: %s", e.getMessage()));
-						}
+	/**
+	 * Check whether the data of a metric family of a floor needs to be collected
+	 *
+	 * @param family metric family: AirQuality, Thermal, OccupancyList or RegionTags
+	 * @param buildingID building ID
+	 * @param floorName floor name
+	 * @param currentTime current timestamp
+	 * @param isPrioritized whether the floor has prioritized devices
+	 * @return true if the family was never collected or its polling cycle has elapsed, or if the floor is prioritized and the data
+	 * of the family is older than {@link SembientAggregatorConstant#PRIORITY_COLLECTION_RATIO} of its polling cycle
+	 */
+	private boolean isFloorDataCollectionDue(String family, String buildingID, String floorName, long currentTime, boolean isPrioritized) {
+		String scheduleKey = family + SembientAggregatorConstant.DASH + buildingID + SembientAggregatorConstant.DASH + floorName;
+		Long nextCollectionTimestamp = nextFloorDataCollectionTimestamps.get(scheduleKey);
+		if (nextCollectionTimestamp == null || nextCollectionTimestamp <= currentTime) {
+			return true;
+		}
+		if (!isPrioritized) {
+			return false;
+		}
+		Long lastCollectionTimestamp = lastFloorDataCollectionTimestamps.get(scheduleKey);
+		return lastCollectionTimestamp == null
+				|| currentTime - lastCollectionTimestamp >= getFloorDataPollingCycleFromUserInput(family) * SembientAggregatorConstant.PRIORITY_COLLECTION_RATIO;
+	}
 
-						isHavingData = populateRegionTag(properties, controls, deviceId);
-						if (isHavingData) {
-							break;
-						}
-					} while (attemptRetry++ < numberOfRetryInInt);
+	/**
+	 * Retrieves the timestamp of the next data collection of a floor, the earliest of its metric families
+	 *
+	 * @param buildingID building ID
+	 * @param floorName floor name
+	 * @param devices list of aggregated devices located on the floor
+	 * @return timestamp of when one of the metric families of the floor is due
+	 */
+	private long getNextFloorCollectionTimestamp(String buildingID, String floorName, List<AggregatedDevice> devices) {
+		boolean hasSensor = false;
+		boolean hasRegion = false;
+		for (AggregatedDevice device : devices) {
+			if (SembientAggregatorConstant.DEFAULT_SENSOR_CATEGORY.equals(cachedRealDeviceCategory.get(device.getDeviceId()))) {
+				hasSensor = true;
+			} else {
+				hasRegion = true;
+			}
+		}
+		List<String> families = new ArrayList<>();
+		if (hasSensor) {
+			families.add(SembientAggregatorConstant.AIR_QUALITY);
+			families.add(SembientAggregatorConstant.THERMAL);
+		}
+		if (hasRegion) {
+			families.add(SembientAggregatorConstant.OCCUPANCY_LIST);
+			families.add(SembientAggregatorConstant.REGION_TAG);
+		}
+		long nextCollectionTimestamp = Long.MAX_VALUE;
+		for (String family : families) {
+			Long familyCollectionTimestamp = nextFloorDataCollectionTimestamps.get(family + SembientAggregatorConstant.DASH + buildingID + SembientAggregatorConstant.DASH + floorName);
+			nextCollectionTimestamp = Math.min(nextCollectionTimestamp, familyCollectionTimestamp == null ? 0 : familyCollectionTimestamp);
+		}
+		return nextCollectionTimestamp;
+	}
+
+	/**
+	 * Start the data population in worker thread, and retry it when the attempt was rejected with 429 (too many requests) error.
+	 * Waiting for the next retry interval is scheduled on {@link #retryScheduledExecutorService}, and waiting for the responses is
+	 * chained on their futures, so no worker thread is held while waiting.
+	 *
+	 * @param populateData data population to be run, its future is completed with false if the attempt got 429 error
+	 * @return future completed with the result of the last attempt
+	 */
+	private CompletableFuture<Boolean> populateWithRetry(Supplier<CompletableFuture<Boolean>> populateData) {
+		CompletableFuture<Boolean> result = new CompletableFuture<>();
+		submitPopulateData(populateData, 0, getNumberOfRetryFromUserInput(), getRetryIntervalFromUserInput(), result);
+		return result;
+	}
+
+	/**
+	 * Submit an attempt of the data population to worker thread, then schedule the next attempt if it got 429 error
+	 *
+	 * @param populateData data population to be run, its future is completed with false if the attempt got 429 error
+	 * @param attemptRetry number of retries done so far
+	 * @param numberOfRetries maximum number of retries
+	 * @param retryInterval interval between 2 attempts in milliseconds
+	 * @param result future to be completed with the result of the last attempt
+	 */
+	private void submitPopulateData(Supplier<CompletableFuture<Boolean>> populateData, int attemptRetry, int numberOfRetries, long retryInterval, CompletableFuture<Boolean> result) {
+		try {
+			CompletableFuture.supplyAsync(populateData, executorService).thenCompose(attempt -> attempt).whenComplete((isHavingData, error) -> {
+				if (error != null) {
+					result.completeExceptionally(error);
+				} else if (isHavingData || attemptRetry >= numberOfRetries || !serviceRunning) {
+					result.complete(isHavingData);
+				} else {
+					try {
+						retryScheduledExecutorService.schedule(() -> submitPopulateData(populateData, attemptRetry + 1, numberOfRetries, retryInterval, result), retryInterval,
+								TimeUnit.MILLISECONDS);
+					} catch (Exception e) {
+						// Scheduler is shut down when the adapter is destroyed
+						result.complete(false);
+					}
 				}
-				return false;
 			});
+		} catch (Exception e) {
+			// Worker pool is shut down when the adapter is destroyed
+			result.completeExceptionally(e);
 		}
-		aggregatedDevice.setProperties(properties);
-		aggregatedDevice.setControllableProperties(controls);
-		aggregatedDevices.put(aggregatedDevice.getDeviceId(), aggregatedDevice);
 	}
 
 	/**
-	 * Populate region tag
+	 * Populate region tags for all regions (aggregated devices) of a floor.
+	 * Tags of every region are requested once per floor, then every region's Tag dropdown is populated from the same response.
+	 *
+	 * @param regions list of regions (aggregated devices) located on the floor
+	 * @param buildingID building ID
+	 * @param floorName floor name
+	 * @return future completed with whether populateData is successful
+	 */
+	private CompletableFuture<Boolean> populateFloorRegionTags(List<AggregatedDevice> regions, String buildingID, String floorName) {
+		String request = SembientAggregatorConstant.COMMAND_SPACE_TAGS + this.loginResponse.getCustomerId() + SembientAggregatorConstant.SLASH + buildingID + SembientAggregatorConstant.SLASH + floorName;
+		return this.doGetWithRetryForWorkerThread(request, RegionTagWrapperMonitor.class).thenApply(regionTagWrapperMonitor -> {
+			if (regionTagWrapperMonitor == null) {
+				return !removeTooManyRequestError(request);
+			}
+			Map<String, String[]> regionAndTagMap = new HashMap<>();
+			if (regionTagWrapperMonitor.getRegionResponse() != null) {
+				for (RegionTagResponse regionTagResponse : regionTagWrapperMonitor.getRegionResponse()) {
+					regionAndTagMap.putIfAbsent(regionTagResponse.getRegionName(), regionTagResponse.getRegionTags());
+				}
+			}
+			for (AggregatedDevice region : regions) {
+				populateRegionTagProperties(region.getProperties(), region.getControllableProperties(), region.getDeviceId(), regionAndTagMap.get(region.getDeviceName()));
+			}
+			return true;
+		});
+	}
+
+	/**
+	 * Check whether a region of a floor doesn't have its tag controls yet
+	 *
+	 * @param regions list of regions (aggregated devices) located on the floor
+	 * @return true if region tags of the floor need to be refreshed before {@link #regionTagPollingCycle} elapses
+	 */
+	private boolean isRegionTagMissing(List<AggregatedDevice> regions) {
+		for (AggregatedDevice region : regions) {
+			if (!region.getProperties().containsKey(SembientAggregatorConstant.REGION_TAG_CREATE)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Populate region tag properties and controls of a region
 	 *
 	 * @param properties Map of cached properties of region (Aggregated device)
 	 * @param controls List of cached AdvancedControllableProperty of region (Aggregated device)
 	 * @param deviceId Device id of region.
-	 * @return boolean is populateData successful
-	 * @throws Exception when fail to get region tags
+	 * @param regionTags array of tags of the region, null if the region doesn't have any tag
 	 */
-	private boolean populateRegionTag(Map<String, String> properties, List<AdvancedControllableProperty> controls, String deviceId) {
+	private void populateRegionTagProperties(Map<String, String> properties, List<AdvancedControllableProperty> controls, String deviceId, String[] regionTags) {
 		// Remove old cached region tag properties
 		properties.remove(SembientAggregatorConstant.REGION_TAG_NEW_TAG);
 		controls.removeIf(advancedControllableProperty -> advancedControllableProperty.getName().equals(SembientAggregatorConstant.REGION_TAG_NEW_TAG));
@@ -1512,21 +2528,8 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 		//
 		controls.add(createText(properties, SembientAggregatorConstant.REGION_TAG_NEW_TAG, lastNewTag.get(deviceId)));
 		controls.add(createButton(properties, SembientAggregatorConstant.REGION_TAG_CREATE, SembientAggregatorConstant.LABEL_CREATE, SembientAggregatorConstant.LABEL_PRESSED_CREATING));
-		String[] regionDetails = deviceId.split(SembientAggregatorConstant.DASH);
-		int lastIndex = regionDetails.length - 1;
-		String buildingID = regionDetails[lastIndex - 2];
-		String floorName = regionDetails[lastIndex - 1];
-		String regionName = regionDetails[lastIndex];
-		String request = SembientAggregatorConstant.COMMAND_SPACE_TAGS + this.loginResponse.getCustomerId() + SembientAggregatorConstant.SLASH + buildingID + SembientAggregatorConstant.SLASH + floorName
-				+ SembientAggregatorConstant.PARAM_REGION_NAME + regionName;
-		RegionTagWrapperMonitor regionTagWrapperControl = this.doGetWithRetryForWorkerThread(request, RegionTagWrapperMonitor.class);
-		// Get getRegionResponse by first index because it only has 1 element.
-		// There are some cases that getRegionResponse array is empty
-		if (regionTagWrapperControl == null && cachedTooManyRequestError.remove(request)) {
-			return false;
-		}
-		if (regionTagWrapperControl != null && regionTagWrapperControl.getRegionResponse().length != 0 && regionTagWrapperControl.getRegionResponse()[0].getRegionTags().length != 0) {
-			String[] regionTags = regionTagWrapperControl.getRegionResponse()[0].getRegionTags();
+		// Not populate Delete button and Tag dropdown if there are no tags in region
+		if (regionTags != null && regionTags.length != 0) {
 			List<String> tags = new ArrayList<>(Arrays.asList(regionTags));
 			String currentTag = tags.get(0);
 			if (aggregatedDeviceTagMap.containsKey(deviceId)) {
@@ -1543,270 +2546,330 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 			controls.add(createDropdown(properties, SembientAggregatorConstant.PROPERTY_TAG, tags, currentTag));
 			controls.add(createButton(properties, SembientAggregatorConstant.PROPERTY_DELETE, SembientAggregatorConstant.LABEL_DELETE, SembientAggregatorConstant.LABEL_PRESSED_DELETING));
 		}
-		return true;
-		// Not populate Delete button and Tag dropdown if there are no tags in region
 	}
 
 	/**
-	 * Populate air quality data for region (aggregated device) in thread.
+	 * Populate air quality data for all sensors (aggregated devices) of a floor in thread.
+	 * The IAQ timeseries endpoint returns the data of the whole floor, so it is requested once per floor and the
+	 * result is shared across every sensor of that floor.
 	 * 1. Get today data first
 	 * 2. Get yesterday data if today data is empty
 	 * 3. If fail to get both then we put "No data" in "Message" property
 	 *
-	 * @param properties Map of cached properties for aggregated device
+	 * @param sensors list of sensors (aggregated devices) located on the floor
 	 * @param currentDate Current date in string
 	 * @param yesterdayDate Yesterday in string
-	 * @param buildingID building name
+	 * @param buildingID building ID
 	 * @param floorName floor name
-	 * @param deviceName device name
-	 * @return boolean is populate data successful
-	 * @throws Exception if fail to get {@link AirQualityWrapper}
+	 * @return future completed with whether populate data is successful
 	 */
-	private boolean populateIAQData(Map<String, String> properties, String currentDate, String yesterdayDate, String buildingID, String floorName, String deviceName) {
-		boolean isPopulateForNoData = false;
+	private CompletableFuture<Boolean> populateFloorIAQData(List<AggregatedDevice> sensors, String currentDate, String yesterdayDate, String buildingID, String floorName) {
+		String co2Property = SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH + SembientAggregatorConstant.CO2_VALUE_LATEST;
 		String firstRequest =
 				SembientAggregatorConstant.COMMAND_IAQ_TIMESERIES + loginResponse.getCustomerId() + SembientAggregatorConstant.SLASH + buildingID + SembientAggregatorConstant.SLASH + floorName
 						+ SembientAggregatorConstant.SLASH + currentDate;
-		AirQualityWrapper airQualityWrapper = doGetWithRetryForWorkerThread(firstRequest, AirQualityWrapper.class);
-		if (airQualityWrapper != null) {
-			AirQualitySensorResponse[] airQualitySensorResponses = new AirQualitySensorResponse[0];
-			if (SembientAggregatorConstant.STATUS_CODE_200.equals(airQualityWrapper.getStatusCode()) && airQualityWrapper.getAirQualitySensorWrapper() != null) {
-				airQualitySensorResponses = airQualityWrapper.getAirQualitySensorWrapper().getAirQualitySensorResponses();
-			}
-			if (airQualitySensorResponses.length == 0) {
-				String secondRequest =
-						SembientAggregatorConstant.COMMAND_IAQ_TIMESERIES + loginResponse.getCustomerId() + SembientAggregatorConstant.SLASH + buildingID + SembientAggregatorConstant.SLASH + floorName
-								+ SembientAggregatorConstant.SLASH + yesterdayDate;
-				airQualityWrapper = doGetWithRetryForWorkerThread(secondRequest, AirQualityWrapper.class);
-				if (airQualityWrapper != null) {
-					if (SembientAggregatorConstant.STATUS_CODE_200.equals(airQualityWrapper.getStatusCode()) && airQualityWrapper.getAirQualitySensorWrapper() != null) {
-						airQualitySensorResponses = airQualityWrapper.getAirQualitySensorWrapper().getAirQualitySensorResponses();
+		Set<String> sensorNames = sensors.stream().map(AggregatedDevice::getDeviceName).collect(Collectors.toSet());
+		return doGetTimeseriesWithRetryForWorkerThread(firstRequest, airQualityReader, sensorNames).thenCompose(airQualityResponse -> {
+			if (airQualityResponse == null) {
+				for (AggregatedDevice sensor : sensors) {
+					if (!sensor.getProperties().containsKey(co2Property)) {
+						populateNoData(sensor.getProperties(), SembientAggregatorConstant.AIR_QUALITY);
 					}
-					if (airQualitySensorResponses.length == 0) {
-						isPopulateForNoData = true;
+				}
+				return CompletableFuture.completedFuture(!removeTooManyRequestError(firstRequest));
+			}
+			Map<String, AirQualityData[]> todayIAQMap = new HashMap<>();
+			int todaySensorCount = 0;
+			if (SembientAggregatorConstant.STATUS_CODE_200.equals(airQualityResponse.getStatusCode())) {
+				todayIAQMap = airQualityResponse.getDeviceData();
+				todaySensorCount = airQualityResponse.getDeviceCount();
+			}
+			if (todaySensorCount != 0) {
+				populateFloorIAQProperties(sensors, todayIAQMap, false, false);
+				return CompletableFuture.completedFuture(true);
+			}
+			Map<String, AirQualityData[]> emptyTodayIAQMap = todayIAQMap;
+			String secondRequest =
+					SembientAggregatorConstant.COMMAND_IAQ_TIMESERIES + loginResponse.getCustomerId() + SembientAggregatorConstant.SLASH + buildingID + SembientAggregatorConstant.SLASH + floorName
+							+ SembientAggregatorConstant.SLASH + yesterdayDate;
+			return doGetClosedDayTimeseriesWithRetryForWorkerThread(secondRequest, yesterdayDate, airQualityReader, sensorNames).thenApply(yesterdayResponse -> {
+				Map<String, AirQualityData[]> sensorAndIAQMap = emptyTodayIAQMap;
+				boolean isPopulateForNoData = false;
+				boolean isSecondRequestFailed = false;
+				if (yesterdayResponse != null) {
+					int sensorCount = 0;
+					if (SembientAggregatorConstant.STATUS_CODE_200.equals(yesterdayResponse.getStatusCode())) {
+						sensorAndIAQMap = yesterdayResponse.getDeviceData();
+						sensorCount = yesterdayResponse.getDeviceCount();
 					}
-				} else {
-					if (!properties.containsKey(SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH
-							+ SembientAggregatorConstant.CO2_VALUE_LATEST)) {
+					if (sensorCount == 0) {
 						isPopulateForNoData = true;
 					}
-					if (cachedTooManyRequestError.remove(secondRequest)) {
+				} else {
+					if (removeTooManyRequestError(secondRequest)) {
 						return false;
 					}
+					isSecondRequestFailed = true;
 				}
-			}
-			Map<String, AirQualityData[]> sensorAndIAQMap = new HashMap<>();
-			for (AirQualitySensorResponse airQualitySensorResponse : airQualitySensorResponses) {
-				if (deviceName.equals(airQualitySensorResponse.getSensorName())) {
-					sensorAndIAQMap.put(airQualitySensorResponse.getSensorName(), airQualitySensorResponse.getAirQualityData());
-				}
-			}
-			// Remove previous properties
-			// CO2
-			String co2Property = SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH
-					+ SembientAggregatorConstant.CO2_VALUE_LATEST;
-			// TVOC
-			String tvocProperty = SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH
-					+ SembientAggregatorConstant.TVOC_VALUE_LATEST_MICROGRAM;
-			// PM25
-			String pm25Property = SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH
-					+ SembientAggregatorConstant.PM_25_VALUE_LATEST_MICROMET;
-			//
-			String fromTimeProperty = SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH
-					+ SembientAggregatorConstant.FROM_TIME;
-			String toTimeProperty = SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH
-					+ SembientAggregatorConstant.TO_TIME;
-			String recentDataProperty = SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH
-					+ SembientAggregatorConstant.RECENT_DATA;
-			String messageProperty = SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH
-					+ SembientAggregatorConstant.MESSAGE;
-			properties.remove(co2Property);
-			properties.remove(tvocProperty);
-			properties.remove(pm25Property);
-
-			properties.remove(fromTimeProperty);
-			properties.remove(toTimeProperty);
-			properties.remove(recentDataProperty);
-			properties.remove(messageProperty);
-			if (isPopulateForNoData) {
-				populateNoData(properties, SembientAggregatorConstant.AIR_QUALITY);
-			}
-
-			for (Map.Entry<String, AirQualityData[]> entry : sensorAndIAQMap.entrySet()) {
-				//
-				int lastIndex = entry.getValue().length - 1;
-				properties.put(co2Property, entry.getValue()[lastIndex].getCo2());
-				properties.put(tvocProperty, entry.getValue()[lastIndex].getTvoc());
-				properties.put(pm25Property, entry.getValue()[lastIndex].getPm25());
-				DateFormat obj = new SimpleDateFormat(SembientAggregatorConstant.DATE_ISO_FORMAT);
-				obj.setTimeZone(TimeZone.getTimeZone(SembientAggregatorConstant.UTC_TIMEZONE));
-				// Convert s to ms
-				Date fromTimeDate = new Date(entry.getValue()[0].getTimestamp() * 1000);
-				Date toTimeDate = new Date(entry.getValue()[lastIndex].getTimestamp() * 1000);
-				long resInMs = toTimeDate.getTime();
-				long currentTimeMs = System.currentTimeMillis();
-
-				long dif = currentTimeMs - resInMs;
-				long hourInMs = 3600 * 1000;
-				boolean isRecentData = (dif) < hourInMs;
-				properties.put(recentDataProperty, String.valueOf(isRecentData));
-				properties.put(toTimeProperty, obj.format(toTimeDate));
-				properties.put(fromTimeProperty, obj.format(fromTimeDate));
-			}
-		} else {
-			if (!properties.containsKey(SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH
-					+ SembientAggregatorConstant.CO2_VALUE_LATEST)) {
-				populateNoData(properties, SembientAggregatorConstant.AIR_QUALITY);
-			}
-			if (cachedTooManyRequestError.remove(firstRequest)) {
-				return false;
-			}
+				populateFloorIAQProperties(sensors, sensorAndIAQMap, isPopulateForNoData, isSecondRequestFailed);
+				return true;
+			});
+		});
+	}
+
+	/**
+	 * Populate air quality properties of every sensor of a floor from the floor IAQ data
+	 *
+	 * @param sensors list of sensors (aggregated devices) located on the floor
+	 * @param sensorAndIAQMap map of sensor name and its {@link AirQualityData}
+	 * @param isPopulateForNoData whether "No data" message is populated for every sensor
+	 * @param isSecondRequestFailed whether the request of yesterday data failed, then "No data" message is populated for sensors without data
+	 */
+	private void populateFloorIAQProperties(List<AggregatedDevice> sensors, Map<String, AirQualityData[]> sensorAndIAQMap, boolean isPopulateForNoData, boolean isSecondRequestFailed) {
+		String co2Property = SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH + SembientAggregatorConstant.CO2_VALUE_LATEST;
+		for (AggregatedDevice sensor : sensors) {
+			Map<String, String> properties = sensor.getProperties();
+			boolean isSensorPopulateForNoData = isPopulateForNoData || (isSecondRequestFailed && !properties.containsKey(co2Property));
+			populateIAQProperties(properties, sensorAndIAQMap.get(sensor.getDeviceName()), isSensorPopulateForNoData);
 		}
-		return true;
 	}
 
 	/**
-	 * Populate thermal data for region (aggregated device) in thread.
+	 * Populate air quality properties of a sensor from its part of the floor IAQ data
+	 *
+	 * @param properties Map of cached properties for aggregated device
+	 * @param airQualityData array of {@link AirQualityData} of the sensor, null if the sensor doesn't have any data
+	 * @param isPopulateForNoData whether "No data" message is populated
+	 */
+	private void populateIAQProperties(Map<String, String> properties, AirQualityData[] airQualityData, boolean isPopulateForNoData) {
+		// Remove previous properties
+		// CO2
+		String co2Property = SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH
+				+ SembientAggregatorConstant.CO2_VALUE_LATEST;
+		// TVOC
+		String tvocProperty = SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH
+				+ SembientAggregatorConstant.TVOC_VALUE_LATEST_MICROGRAM;
+		// PM25
+		String pm25Property = SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH
+				+ SembientAggregatorConstant.PM_25_VALUE_LATEST_MICROMET;
+		//
+		String fromTimeProperty = SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH
+				+ SembientAggregatorConstant.FROM_TIME;
+		String toTimeProperty = SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH
+				+ SembientAggregatorConstant.TO_TIME;
+		String recentDataProperty = SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH
+				+ SembientAggregatorConstant.RECENT_DATA;
+		String messageProperty = SembientAggregatorConstant.AIR_QUALITY + SembientAggregatorConstant.HASH
+				+ SembientAggregatorConstant.MESSAGE;
+		properties.remove(co2Property);
+		properties.remove(tvocProperty);
+		properties.remove(pm25Property);
+
+		properties.remove(fromTimeProperty);
+		properties.remove(toTimeProperty);
+		properties.remove(recentDataProperty);
+		properties.remove(messageProperty);
+		if (isPopulateForNoData) {
+			populateNoData(properties, SembientAggregatorConstant.AIR_QUALITY);
+		}
+		if (airQualityData == null || airQualityData.length == 0) {
+			return;
+		}
+		int lastIndex = airQualityData.length - 1;
+		properties.put(co2Property, airQualityData[lastIndex].getCo2());
+		properties.put(tvocProperty, airQualityData[lastIndex].getTvoc());
+		properties.put(pm25Property, airQualityData[lastIndex].getPm25());
+		DateFormat obj = new SimpleDateFormat(SembientAggregatorConstant.DATE_ISO_FORMAT);
+		obj.setTimeZone(TimeZone.getTimeZone(SembientAggregatorConstant.UTC_TIMEZONE));
+		// Convert s to ms
+		Date fromTimeDate = new Date(airQualityData[0].getTimestamp() * 1000);
+		Date toTimeDate = new Date(airQualityData[lastIndex].getTimestamp() * 1000);
+		long resInMs = toTimeDate.getTime();
+		long currentTimeMs = System.currentTimeMillis();
+
+		long dif = currentTimeMs - resInMs;
+		long hourInMs = 3600 * 1000;
+		boolean isRecentData = (dif) < hourInMs;
+		properties.put(recentDataProperty, String.valueOf(isRecentData));
+		properties.put(toTimeProperty, obj.format(toTimeDate));
+		properties.put(fromTimeProperty, obj.format(fromTimeDate));
+	}
+
+	/**
+	 * Populate thermal data for all sensors (aggregated devices) of a floor in thread.
+	 * The thermal timeseries endpoint returns the data of the whole floor, so it is requested once per floor and the
+	 * result is shared across every sensor of that floor.
 	 * 1. Get today data first
 	 * 2. Get yesterday data if today data is empty
 	 * 3. If fail to get both then we put "No data" in "Message" property
 	 *
-	 * @param properties Map of cached properties of aggregated device
+	 * @param sensors list of sensors (aggregated devices) located on the floor
 	 * @param currentDate Current date in string
 	 * @param yesterdayDate Yesterday in string
 	 * @param buildingID building ID
 	 * @param floorName floor name
-	 * @param deviceName device name
-	 * @return boolean is populate data successful
-	 * @throws Exception if fail to get {@link ThermalWrapper}
+	 * @return future completed with whether populate data is successful
 	 */
-	private boolean populateThermalData(Map<String, String> properties, String currentDate, String yesterdayDate, String buildingID, String floorName, String deviceName) {
-		boolean isPopulateForNoData = false;
+	private CompletableFuture<Boolean> populateFloorThermalData(List<AggregatedDevice> sensors, String currentDate, String yesterdayDate, String buildingID, String floorName) {
+		String temperatureProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.TEMPERATURE_LATEST_F;
 		String firstRequest =
 				SembientAggregatorConstant.COMMAND_THERMAL_TIMESERIES + loginResponse.getCustomerId() + SembientAggregatorConstant.SLASH + buildingID + SembientAggregatorConstant.SLASH + floorName
 						+ SembientAggregatorConstant.SLASH + currentDate;
-		ThermalWrapper thermalWrapper = doGetWithRetryForWorkerThread(firstRequest, ThermalWrapper.class);
-		if (thermalWrapper != null) {
-			ThermalSensorResponse[] thermalSensorResponse = new ThermalSensorResponse[0];
-			if (SembientAggregatorConstant.STATUS_CODE_200.equals(thermalWrapper.getStatusCode()) && thermalWrapper.getThermalSensorWrappers() != null) {
-				thermalSensorResponse = thermalWrapper.getThermalSensorWrappers().getThermalSensorResponses();
-			}
-			if (thermalSensorResponse.length == 0) {
-				// Retry with yesterday data
-				String secondRequest =
-						SembientAggregatorConstant.COMMAND_THERMAL_TIMESERIES + loginResponse.getCustomerId() + SembientAggregatorConstant.SLASH + buildingID + SembientAggregatorConstant.SLASH + floorName
-								+ SembientAggregatorConstant.SLASH + yesterdayDate;
-				thermalWrapper = doGetWithRetryForWorkerThread(secondRequest, ThermalWrapper.class);
-				if (thermalWrapper != null) {
-					if (SembientAggregatorConstant.STATUS_CODE_200.equals(thermalWrapper.getStatusCode()) && thermalWrapper.getThermalSensorWrappers() != null) {
-						thermalSensorResponse = thermalWrapper.getThermalSensorWrappers().getThermalSensorResponses();
+		Set<String> sensorNames = sensors.stream().map(AggregatedDevice::getDeviceName).collect(Collectors.toSet());
+		return doGetTimeseriesWithRetryForWorkerThread(firstRequest, thermalReader, sensorNames).thenCompose(thermalResponse -> {
+			if (thermalResponse == null) {
+				for (AggregatedDevice sensor : sensors) {
+					if (!sensor.getProperties().containsKey(temperatureProperty)) {
+						populateNoData(sensor.getProperties(), SembientAggregatorConstant.THERMAL);
 					}
-					if (thermalSensorResponse.length == 0) {
-						isPopulateForNoData = true;
+				}
+				return CompletableFuture.completedFuture(!removeTooManyRequestError(firstRequest));
+			}
+			Map<String, ThermalData[]> todayThermalMap = new HashMap<>();
+			int todaySensorCount = 0;
+			if (SembientAggregatorConstant.STATUS_CODE_200.equals(thermalResponse.getStatusCode())) {
+				todayThermalMap = thermalResponse.getDeviceData();
+				todaySensorCount = thermalResponse.getDeviceCount();
+			}
+			if (todaySensorCount != 0) {
+				populateFloorThermalProperties(sensors, todayThermalMap, false, false);
+				return CompletableFuture.completedFuture(true);
+			}
+			// Retry with yesterday data
+			Map<String, ThermalData[]> emptyTodayThermalMap = todayThermalMap;
+			String secondRequest =
+					SembientAggregatorConstant.COMMAND_THERMAL_TIMESERIES + loginResponse.getCustomerId() + SembientAggregatorConstant.SLASH + buildingID + SembientAggregatorConstant.SLASH + floorName
+							+ SembientAggregatorConstant.SLASH + yesterdayDate;
+			return doGetClosedDayTimeseriesWithRetryForWorkerThread(secondRequest, yesterdayDate, thermalReader, sensorNames).thenApply(yesterdayResponse -> {
+				Map<String, ThermalData[]> sensorAndThermalMap = emptyTodayThermalMap;
+				boolean isPopulateForNoData = false;
+				boolean isSecondRequestFailed = false;
+				if (yesterdayResponse != null) {
+					int sensorCount = 0;
+					if (SembientAggregatorConstant.STATUS_CODE_200.equals(yesterdayResponse.getStatusCode())) {
+						sensorAndThermalMap = yesterdayResponse.getDeviceData();
+						sensorCount = yesterdayResponse.getDeviceCount();
 					}
-				} else {
-					if (!properties.containsKey(SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.TEMPERATURE_LATEST_F)) {
+					if (sensorCount == 0) {
 						isPopulateForNoData = true;
 					}
-					if (cachedTooManyRequestError.remove(secondRequest)) {
+				} else {
+					if (removeTooManyRequestError(secondRequest)) {
 						return false;
 					}
+					isSecondRequestFailed = true;
 				}
-			}
+				populateFloorThermalProperties(sensors, sensorAndThermalMap, isPopulateForNoData, isSecondRequestFailed);
+				return true;
+			});
+		});
+	}
 
-			Map<String, ThermalData[]> sensorAndThermalMap = new HashMap<>();
-			for (ThermalSensorResponse sensorResponse : thermalSensorResponse) {
-				if (sensorResponse.getSensorName().equals(deviceName)) {
-					sensorAndThermalMap.put(deviceName, sensorResponse.getThermalData());
-				}
-			}
-			// Temperature
-			String sensorLatestTemperatureProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.TEMPERATURE_LATEST_F;
-			String sensorAvgTemperatureProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.TEMPERATURE_AVG_F;
-			String sensorMaxTemperatureProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.TEMPERATURE_MAX_F;
-			String sensorMinTemperatureProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.TEMPERATURE_MIN_F;
-			// Humidity
-			String sensorLatestHumidityProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.HUMIDITY_LATEST;
-			String sensorAvgHumidityProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.HUMIDITY_AVG;
-			String sensorMaxHumidityProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.HUMIDITY_MAX;
-			String sensorMinHumidityProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.HUMIDITY_MIN;
-			// Other
-			String sensorFromTimeProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.FROM_TIME;
-			String sensorToTimeProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.TO_TIME;
-			String sensorRecentDataProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.RECENT_DATA;
-			String sensorMessageProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.MESSAGE;
-			// Remove previous properties
-			properties.remove(sensorLatestTemperatureProperty);
-			properties.remove(sensorAvgTemperatureProperty);
-			properties.remove(sensorMaxTemperatureProperty);
-			properties.remove(sensorMinTemperatureProperty);
-
-			properties.remove(sensorLatestHumidityProperty);
-			properties.remove(sensorMaxHumidityProperty);
-			properties.remove(sensorMinHumidityProperty);
-			properties.remove(sensorAvgHumidityProperty);
-
-			properties.remove(sensorFromTimeProperty);
-			properties.remove(sensorToTimeProperty);
-			properties.remove(sensorRecentDataProperty);
-			properties.remove(sensorMessageProperty);
-			if (isPopulateForNoData) {
-				populateNoData(properties, SembientAggregatorConstant.THERMAL);
-			}
-			for (Map.Entry<String, ThermalData[]> entry : sensorAndThermalMap.entrySet()) {
-				ThermalData[] thermals = entry.getValue();
-				double averageThermal = Arrays.stream(thermals)
-						.mapToDouble(ThermalData::getTemperature)
-						.average()
-						.orElse(Double.NaN);
-				double averageHumidity = Arrays.stream(thermals)
-						.mapToDouble(ThermalData::getHumidity)
-						.average()
-						.orElse(Double.NaN);
-				int latestThermal = thermals[thermals.length - 1].getTemperature();
-				int latestHumidity = thermals[thermals.length - 1].getHumidity();
-				long fromTime = thermals[0].getTimestamp();
-				long toTime = thermals[thermals.length - 1].getTimestamp();
-				Arrays.sort(thermals, Comparator.comparing(ThermalData::getTemperature));
-				int minThermal = thermals[0].getTemperature();
-				int maxThermal = thermals[thermals.length - 1].getTemperature();
-				Arrays.sort(thermals, Comparator.comparing(ThermalData::getHumidity));
-				int minHumidity = thermals[0].getHumidity();
-				int maxHumidity = thermals[thermals.length - 1].getHumidity();
-				// Temperature
-				properties.put(sensorLatestTemperatureProperty, String.valueOf(latestThermal));
-				properties.put(sensorMaxTemperatureProperty, String.valueOf(maxThermal));
-				properties.put(sensorMinTemperatureProperty, String.valueOf(minThermal));
-				properties.put(sensorAvgTemperatureProperty, String.format(SembientAggregatorConstant.FLOAT_WITH_TWO_DECIMAL, averageThermal));
-				// Humidity
-				properties.put(sensorLatestHumidityProperty, String.valueOf(latestHumidity));
-				properties.put(sensorMaxHumidityProperty, String.valueOf(maxHumidity));
-				properties.put(sensorMinHumidityProperty, String.valueOf(minHumidity));
-				properties.put(sensorAvgHumidityProperty, String.format(SembientAggregatorConstant.FLOAT_WITH_TWO_DECIMAL, averageHumidity));
-				DateFormat obj = new SimpleDateFormat(SembientAggregatorConstant.DATE_ISO_FORMAT);
-				obj.setTimeZone(TimeZone.getTimeZone(SembientAggregatorConstant.UTC_TIMEZONE));
-				// Convert s to ms
-				Date fromTimeDate = new Date(fromTime * 1000);
-				Date toTimeDate = new Date(toTime * 1000);
-				long toTimeInMs = fromTimeDate.getTime();
-				long currentTimeMs = System.currentTimeMillis();
-
-				long dif = currentTimeMs - toTimeInMs;
-				long hourInMs = 3600 * 1000;
-				boolean isRecentData = (dif) < hourInMs;
-				properties.put(sensorRecentDataProperty, String.valueOf(isRecentData));
-				properties.put(sensorToTimeProperty, obj.format(toTimeDate));
-				properties.put(sensorFromTimeProperty, obj.format(fromTimeDate));
-			}
-		} else {
-			if (!properties.containsKey(SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.TEMPERATURE_LATEST_F)) {
-				populateNoData(properties, SembientAggregatorConstant.THERMAL);
-			}
-			if (cachedTooManyRequestError.remove(firstRequest)) {
-				return false;
-			}
+	/**
+	 * Populate thermal properties of every sensor of a floor from the floor thermal data
+	 *
+	 * @param sensors list of sensors (aggregated devices) located on the floor
+	 * @param sensorAndThermalMap map of sensor name and its {@link ThermalData}
+	 * @param isPopulateForNoData whether "No data" message is populated for every sensor
+	 * @param isSecondRequestFailed whether the request of yesterday data failed, then "No data" message is populated for sensors without data
+	 */
+	private void populateFloorThermalProperties(List<AggregatedDevice> sensors, Map<String, ThermalData[]> sensorAndThermalMap, boolean isPopulateForNoData, boolean isSecondRequestFailed) {
+		String temperatureProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.TEMPERATURE_LATEST_F;
+		for (AggregatedDevice sensor : sensors) {
+			Map<String, String> properties = sensor.getProperties();
+			boolean isSensorPopulateForNoData = isPopulateForNoData || (isSecondRequestFailed && !properties.containsKey(temperatureProperty));
+			populateThermalProperties(properties, sensorAndThermalMap.get(sensor.getDeviceName()), isSensorPopulateForNoData);
+		}
+	}
+
+	/**
+	 * Populate thermal properties of a sensor from its part of the floor thermal data
+	 *
+	 * @param properties Map of cached properties of aggregated device
+	 * @param thermals array of {@link ThermalData} of the sensor, null if the sensor doesn't have any data
+	 * @param isPopulateForNoData whether "No data" message is populated
+	 */
+	private void populateThermalProperties(Map<String, String> properties, ThermalData[] thermals, boolean isPopulateForNoData) {
+		// Temperature
+		String sensorLatestTemperatureProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.TEMPERATURE_LATEST_F;
+		String sensorAvgTemperatureProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.TEMPERATURE_AVG_F;
+		String sensorMaxTemperatureProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.TEMPERATURE_MAX_F;
+		String sensorMinTemperatureProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.TEMPERATURE_MIN_F;
+		// Humidity
+		String sensorLatestHumidityProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.HUMIDITY_LATEST;
+		String sensorAvgHumidityProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.HUMIDITY_AVG;
+		String sensorMaxHumidityProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.HUMIDITY_MAX;
+		String sensorMinHumidityProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.HUMIDITY_MIN;
+		// Other
+		String sensorFromTimeProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.FROM_TIME;
+		String sensorToTimeProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.TO_TIME;
+		String sensorRecentDataProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.RECENT_DATA;
+		String sensorMessageProperty = SembientAggregatorConstant.THERMAL + SembientAggregatorConstant.HASH + SembientAggregatorConstant.MESSAGE;
+		// Remove previous properties
+		properties.remove(sensorLatestTemperatureProperty);
+		properties.remove(sensorAvgTemperatureProperty);
+		properties.remove(sensorMaxTemperatureProperty);
+		properties.remove(sensorMinTemperatureProperty);
+
+		properties.remove(sensorLatestHumidityProperty);
+		properties.remove(sensorMaxHumidityProperty);
+		properties.remove(sensorMinHumidityProperty);
+		properties.remove(sensorAvgHumidityProperty);
+
+		properties.remove(sensorFromTimeProperty);
+		properties.remove(sensorToTimeProperty);
+		properties.remove(sensorRecentDataProperty);
+		properties.remove(sensorMessageProperty);
+		if (isPopulateForNoData) {
+			populateNoData(properties, SembientAggregatorConstant.THERMAL);
 		}
-		return true;
+		if (thermals == null || thermals.length == 0) {
+			return;
+		}
+		// The floor data is shared between worker threads, so sorting must be done on a copy
+		thermals = Arrays.copyOf(thermals, thermals.length);
+		double averageThermal = Arrays.stream(thermals)
+				.mapToDouble(ThermalData::getTemperature)
+				.average()
+				.orElse(Double.NaN);
+		double averageHumidity = Arrays.stream(thermals)
+				.mapToDouble(ThermalData::getHumidity)
+				.average()
+				.orElse(Double.NaN);
+		int latestThermal = thermals[thermals.length - 1].getTemperature();
+		int latestHumidity = thermals[thermals.length - 1].getHumidity();
+		long fromTime = thermals[0].getTimestamp();
+		long toTime = thermals[thermals.length - 1].getTimestamp();
+		Arrays.sort(thermals, Comparator.comparing(ThermalData::getTemperature));
+		int minThermal = thermals[0].getTemperature();
+		int maxThermal = thermals[thermals.length - 1].getTemperature();
+		Arrays.sort(thermals, Comparator.comparing(ThermalData::getHumidity));
+		int minHumidity = thermals[0].getHumidity();
+		int maxHumidity = thermals[thermals.length - 1].getHumidity();
+		// Temperature
+		properties.put(sensorLatestTemperatureProperty, String.valueOf(latestThermal));
+		properties.put(sensorMaxTemperatureProperty, String.valueOf(maxThermal));
+		properties.put(sensorMinTemperatureProperty, String.valueOf(minThermal));
+		properties.put(sensorAvgTemperatureProperty, String.format(SembientAggregatorConstant.FLOAT_WITH_TWO_DECIMAL, averageThermal));
+		// Humidity
+		properties.put(sensorLatestHumidityProperty, String.valueOf(latestHumidity));
+		properties.put(sensorMaxHumidityProperty, String.valueOf(maxHumidity));
+		properties.put(sensorMinHumidityProperty, String.valueOf(minHumidity));
+		properties.put(sensorAvgHumidityProperty, String.format(SembientAggregatorConstant.FLOAT_WITH_TWO_DECIMAL, averageHumidity));
+		DateFormat obj = new SimpleDateFormat(SembientAggregatorConstant.DATE_ISO_FORMAT);
+		obj.setTimeZone(TimeZone.getTimeZone(SembientAggregatorConstant.UTC_TIMEZONE));
+		// Convert s to ms
+		Date fromTimeDate = new Date(fromTime * 1000);
+		Date toTimeDate = new Date(toTime * 1000);
+		long toTimeInMs = fromTimeDate.getTime();
+		long currentTimeMs = System.currentTimeMillis();
+
+		long dif = currentTimeMs - toTimeInMs;
+		long hourInMs = 3600 * 1000;
+		boolean isRecentData = (dif) < hourInMs;
+		properties.put(sensorRecentDataProperty, String.valueOf(isRecentData));
+		properties.put(sensorToTimeProperty, obj.format(toTimeDate));
+		properties.put(sensorFromTimeProperty, obj.format(fromTimeDate));
 	}
 
 	/**
@@ -1821,198 +2884,626 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 	}
 
 	/**
-	 * Populate occupancy data for region (aggregated device) in thread.
+	 * Populate occupancy data for all regions (aggregated devices) of a floor in thread.
+	 * The occupancy timeseries endpoint returns the data of the whole floor, so it is requested once per floor and the
+	 * data of the requested regions is shared across every region of that floor.
 	 * 1. Get today data first
 	 * 2. Get yesterday data if today data is empty
 	 * 3. If fail to get both then we put "No data" in "Message" property
 	 *
-	 * @param properties Map of cached properties of aggregated device
-	 * @param controls List of cached AdvancedControllableProperty of aggregated device
+	 * @param regions list of regions (aggregated devices) located on the floor
 	 * @param currentDate Current date in string
 	 * @param yesterdayDate Yesterday in string
-	 * @param deviceId device id
 	 * @param buildingID building ID
 	 * @param floorName floor name
-	 * @param regionName region name
-	 * @return boolean is populate data successful
-	 * @throws Exception If fail to get {@link OccupancyWrapper} data.
+	 * @return future completed with whether populate data is successful
 	 */
-	private boolean populateOccupancyData(Map<String, String> properties, List<AdvancedControllableProperty> controls, String currentDate, String yesterdayDate, String deviceId, String buildingID,
-			String floorName, String regionName) {
+	private CompletableFuture<Boolean> populateFloorOccupancyData(List<AggregatedDevice> regions, String currentDate, String yesterdayDate, String buildingID, String floorName) {
 		// Retrieve data from today
-		String dateToBeDisplayed = currentDate;
 		String firstRequest =
 				SembientAggregatorConstant.COMMAND_OCCUPANCY_TIMESERIES + loginResponse.getCustomerId() + SembientAggregatorConstant.SLASH + buildingID + SembientAggregatorConstant.SLASH + floorName
 						+ SembientAggregatorConstant.SLASH + currentDate;
-		OccupancyWrapper occupancyWrapper = this.doGetWithRetryForWorkerThread(firstRequest, OccupancyWrapper.class);
-		if (occupancyWrapper != null) {
-			properties.remove(SembientAggregatorConstant.PROPERTY_MESSAGE);
-			OccupancyRegionResponse[] occupancyRegionResponses = new OccupancyRegionResponse[0];
-			if (SembientAggregatorConstant.STATUS_CODE_200.equals(occupancyWrapper.getStatusCode()) && occupancyWrapper.getOccupancyRegionWrappers() != null) {
-				occupancyRegionResponses = occupancyWrapper.getOccupancyRegionWrappers().getOccupancyRegionResponses();
-			}
-			if (occupancyRegionResponses.length == 0) {
-				// Retry one more time with yesterday data.
-				String secondRequest =
-						SembientAggregatorConstant.COMMAND_OCCUPANCY_TIMESERIES + loginResponse.getCustomerId() + SembientAggregatorConstant.SLASH + buildingID + SembientAggregatorConstant.SLASH + floorName
-								+ SembientAggregatorConstant.SLASH + yesterdayDate;
-				occupancyWrapper = this.doGetWithRetryForWorkerThread(secondRequest, OccupancyWrapper.class);
-				if (occupancyWrapper != null) {
-					if (SembientAggregatorConstant.STATUS_CODE_200.equals(occupancyWrapper.getStatusCode()) && occupancyWrapper.getOccupancyRegionWrappers() != null) {
-						occupancyRegionResponses = occupancyWrapper.getOccupancyRegionWrappers().getOccupancyRegionResponses();
-					}
-					if (occupancyRegionResponses.length == 0) {
-						properties.put(SembientAggregatorConstant.PROPERTY_MESSAGE, SembientAggregatorConstant.NO_DATA);
-					}
-					dateToBeDisplayed = yesterdayDate;
-				} else {
-					properties.put(SembientAggregatorConstant.PROPERTY_MESSAGE, SembientAggregatorConstant.NO_DATA);
-					if (cachedTooManyRequestError.remove(secondRequest)) {
-						return false;
+		Set<String> regionNames = regions.stream().map(AggregatedDevice::getDeviceName).collect(Collectors.toSet());
+		return this.doGetTimeseriesWithRetryForWorkerThread(firstRequest, occupancyReader, regionNames).thenCompose(occupancyResponse -> {
+			if (occupancyResponse == null) {
+				for (AggregatedDevice region : regions) {
+					if (!region.getProperties().containsKey(SembientAggregatorConstant.PROPERTY_HOUR)) {
+						region.getProperties().put(SembientAggregatorConstant.PROPERTY_MESSAGE, SembientAggregatorConstant.NO_DATA);
 					}
 				}
+				return CompletableFuture.completedFuture(!removeTooManyRequestError(firstRequest));
 			}
-			// Remove previous properties
-			properties.remove(SembientAggregatorConstant.PROPERTY_HOUR);
-			properties.remove(SembientAggregatorConstant.PROPERTY_CURRENT_DATE);
-			properties.remove(SembientAggregatorConstant.PROPERTY_MESSAGE);
-			properties.remove(SembientAggregatorConstant.PROPERTY_NUMBER_OF_OCCUPANTS);
-			properties.remove(SembientAggregatorConstant.PROPERTY_OCCUPANCY);
-			properties.remove(SembientAggregatorConstant.PROPERTY_USAGE_TIME_IN_MINUTE);
-			properties.remove(SembientAggregatorConstant.PROPERTY_USAGE_TIME_IN_PERCENT);
-			controls.removeIf(advancedControllableProperty -> advancedControllableProperty.getName().equals(SembientAggregatorConstant.PROPERTY_HOUR));
-			OccupancyData[] occupancyData = new OccupancyData[0];
-			for (OccupancyRegionResponse res : occupancyRegionResponses) {
-				if (regionName.equals(res.getRegionName())) {
-					occupancyData = res.getOccupancyData();
-					break;
-				}
+			Map<String, OccupancyData[]> todayOccupancyMap = new HashMap<>();
+			int regionCount = 0;
+			if (SembientAggregatorConstant.STATUS_CODE_200.equals(occupancyResponse.getStatusCode())) {
+				todayOccupancyMap = occupancyResponse.getDeviceData();
+				regionCount = occupancyResponse.getDeviceCount();
 			}
-			if (occupancyData.length == 0) {
-				properties.put(SembientAggregatorConstant.PROPERTY_MESSAGE, SembientAggregatorConstant.NO_DATA);
-			}
-			// Set to 8 by default if user haven't changed the hour value.
-			String hourValue = SembientAggregatorConstant.DEFAULT_WORK_HOUR;
-			if (aggregatedDeviceHourMap.containsKey(deviceId)) {
-				hourValue = aggregatedDeviceHourMap.get(deviceId);
-			}
-			aggregatedDeviceOccupancyMap.put(deviceId, occupancyData);
-			for (OccupancyData data : occupancyData) {
-				if (hourValue.equals(data.getHour())) {
-					properties.put(SembientAggregatorConstant.PROPERTY_NUMBER_OF_OCCUPANTS, data.getOccupancy());
-					String rawCapacity = properties.get(SembientAggregatorConstant.CAPACITY);
-					if (rawCapacity != null) {
-						int capacity = Integer.parseInt(properties.get(SembientAggregatorConstant.CAPACITY));
-						float utilization = Integer.parseInt(data.getOccupancy()) / (float) capacity;
-						properties.put(SembientAggregatorConstant.PROPERTY_OCCUPANCY, String.format(SembientAggregatorConstant.FLOAT_WITH_TWO_DECIMAL, utilization * 100));
+			if (regionCount != 0) {
+				populateFloorOccupancyProperties(regions, todayOccupancyMap, currentDate);
+				return CompletableFuture.completedFuture(true);
+			}
+			// Retry one more time with yesterday data.
+			Map<String, OccupancyData[]> emptyTodayOccupancyMap = todayOccupancyMap;
+			String secondRequest =
+					SembientAggregatorConstant.COMMAND_OCCUPANCY_TIMESERIES + loginResponse.getCustomerId() + SembientAggregatorConstant.SLASH + buildingID + SembientAggregatorConstant.SLASH + floorName
+							+ SembientAggregatorConstant.SLASH + yesterdayDate;
+			return this.doGetClosedDayTimeseriesWithRetryForWorkerThread(secondRequest, yesterdayDate, occupancyReader, regionNames).thenApply(yesterdayResponse -> {
+				Map<String, OccupancyData[]> regionAndOccupancyMap = emptyTodayOccupancyMap;
+				String dateToBeDisplayed = currentDate;
+				if (yesterdayResponse != null) {
+					if (SembientAggregatorConstant.STATUS_CODE_200.equals(yesterdayResponse.getStatusCode())) {
+						regionAndOccupancyMap = yesterdayResponse.getDeviceData();
 					}
-					properties.put(SembientAggregatorConstant.PROPERTY_USAGE_TIME_IN_MINUTE, data.getUsageTime());
-					float usageTimeInPercentage = Integer.parseInt(data.getUsageTime()) / (float) 60;
-					properties.put(SembientAggregatorConstant.PROPERTY_USAGE_TIME_IN_PERCENT, String.format(SembientAggregatorConstant.FLOAT_WITH_TWO_DECIMAL, usageTimeInPercentage * 100));
-					break;
+					dateToBeDisplayed = yesterdayDate;
+				} else if (removeTooManyRequestError(secondRequest)) {
+					for (AggregatedDevice region : regions) {
+						region.getProperties().put(SembientAggregatorConstant.PROPERTY_MESSAGE, SembientAggregatorConstant.NO_DATA);
+					}
+					return false;
 				}
-			}
-			List<String> values = new ArrayList<>();
-			values.add(SembientAggregatorConstant.DEFAULT_WORK_HOUR);
-			values.add(SembientAggregatorConstant.WORK_HOUR_9);
-			values.add(SembientAggregatorConstant.WORK_HOUR_10);
-			values.add(SembientAggregatorConstant.WORK_HOUR_11);
-			values.add(SembientAggregatorConstant.WORK_HOUR_12);
-			values.add(SembientAggregatorConstant.WORK_HOUR_13);
-			values.add(SembientAggregatorConstant.WORK_HOUR_14);
-			values.add(SembientAggregatorConstant.WORK_HOUR_15);
-			values.add(SembientAggregatorConstant.WORK_HOUR_16);
-			values.add(SembientAggregatorConstant.WORK_HOUR_17);
-			controls.add(createDropdown(properties, SembientAggregatorConstant.PROPERTY_HOUR, values, hourValue));
-			properties.put(SembientAggregatorConstant.PROPERTY_CURRENT_DATE, dateToBeDisplayed);
-		} else {
-			if (!properties.containsKey(SembientAggregatorConstant.PROPERTY_HOUR)) {
-				properties.put(SembientAggregatorConstant.PROPERTY_MESSAGE, SembientAggregatorConstant.NO_DATA);
-			}
-			if (cachedTooManyRequestError.remove(firstRequest)) {
-				return false;
+				populateFloorOccupancyProperties(regions, regionAndOccupancyMap, dateToBeDisplayed);
+				return true;
+			});
+		});
+	}
+
+	/**
+	 * Populate occupancy properties of every region of a floor from the floor occupancy data
+	 *
+	 * @param regions list of regions (aggregated devices) located on the floor
+	 * @param regionAndOccupancyMap map of region name and its {@link OccupancyData}
+	 * @param dateToBeDisplayed date of the occupancy data
+	 */
+	private void populateFloorOccupancyProperties(List<AggregatedDevice> regions, Map<String, OccupancyData[]> regionAndOccupancyMap, String dateToBeDisplayed) {
+		for (AggregatedDevice region : regions) {
+			populateOccupancyProperties(region.getProperties(), region.getControllableProperties(), region.getDeviceId(), regionAndOccupancyMap.get(region.getDeviceName()), dateToBeDisplayed);
+		}
+	}
+
+	/**
+	 * Populate occupancy properties and Hour dropdown of a region from its part of the floor occupancy data
+	 *
+	 * @param properties Map of cached properties of aggregated device
+	 * @param controls List of cached AdvancedControllableProperty of aggregated device
+	 * @param deviceId device id
+	 * @param occupancyData array of {@link OccupancyData} of the region, null if the region doesn't have any data
+	 * @param dateToBeDisplayed date of the occupancy data
+	 */
+	private void populateOccupancyProperties(Map<String, String> properties, List<AdvancedControllableProperty> controls, String deviceId, OccupancyData[] occupancyData,
+			String dateToBeDisplayed) {
+		// Remove previous properties
+		properties.remove(SembientAggregatorConstant.PROPERTY_HOUR);
+		properties.remove(SembientAggregatorConstant.PROPERTY_CURRENT_DATE);
+		properties.remove(SembientAggregatorConstant.PROPERTY_MESSAGE);
+		properties.remove(SembientAggregatorConstant.PROPERTY_NUMBER_OF_OCCUPANTS);
+		properties.remove(SembientAggregatorConstant.PROPERTY_OCCUPANCY);
+		properties.remove(SembientAggregatorConstant.PROPERTY_USAGE_TIME_IN_MINUTE);
+		properties.remove(SembientAggregatorConstant.PROPERTY_USAGE_TIME_IN_PERCENT);
+		controls.removeIf(advancedControllableProperty -> advancedControllableProperty.getName().equals(SembientAggregatorConstant.PROPERTY_HOUR));
+		if (occupancyData == null) {
+			occupancyData = new OccupancyData[0];
+		}
+		if (occupancyData.length == 0) {
+			properties.put(SembientAggregatorConstant.PROPERTY_MESSAGE, SembientAggregatorConstant.NO_DATA);
+		}
+		// Set to 8 by default if user haven't changed the hour value.
+		String hourValue = SembientAggregatorConstant.DEFAULT_WORK_HOUR;
+		if (aggregatedDeviceHourMap.containsKey(deviceId)) {
+			hourValue = aggregatedDeviceHourMap.get(deviceId);
+		}
+		aggregatedDeviceOccupancyMap.put(deviceId, occupancyData);
+		for (OccupancyData data : occupancyData) {
+			if (hourValue.equals(data.getHour())) {
+				properties.put(SembientAggregatorConstant.PROPERTY_NUMBER_OF_OCCUPANTS, data.getOccupancy());
+				String rawCapacity = properties.get(SembientAggregatorConstant.CAPACITY);
+				if (rawCapacity != null) {
+					int capacity = Integer.parseInt(properties.get(SembientAggregatorConstant.CAPACITY));
+					float utilization = Integer.parseInt(data.getOccupancy()) / (float) capacity;
+					properties.put(SembientAggregatorConstant.PROPERTY_OCCUPANCY, String.format(SembientAggregatorConstant.FLOAT_WITH_TWO_DECIMAL, utilization * 100));
+				}
+				properties.put(SembientAggregatorConstant.PROPERTY_USAGE_TIME_IN_MINUTE, data.getUsageTime());
+				float usageTimeInPercentage = Integer.parseInt(data.getUsageTime()) / (float) 60;
+				properties.put(SembientAggregatorConstant.PROPERTY_USAGE_TIME_IN_PERCENT, String.format(SembientAggregatorConstant.FLOAT_WITH_TWO_DECIMAL, usageTimeInPercentage * 100));
+				break;
 			}
 		}
-		return true;
+		List<String> values = new ArrayList<>();
+		values.add(SembientAggregatorConstant.DEFAULT_WORK_HOUR);
+		values.add(SembientAggregatorConstant.WORK_HOUR_9);
+		values.add(SembientAggregatorConstant.WORK_HOUR_10);
+		values.add(SembientAggregatorConstant.WORK_HOUR_11);
+		values.add(SembientAggregatorConstant.WORK_HOUR_12);
+		values.add(SembientAggregatorConstant.WORK_HOUR_13);
+		values.add(SembientAggregatorConstant.WORK_HOUR_14);
+		values.add(SembientAggregatorConstant.WORK_HOUR_15);
+		values.add(SembientAggregatorConstant.WORK_HOUR_16);
+		values.add(SembientAggregatorConstant.WORK_HOUR_17);
+		controls.add(createDropdown(properties, SembientAggregatorConstant.PROPERTY_HOUR, values, hourValue));
+		properties.put(SembientAggregatorConstant.PROPERTY_CURRENT_DATE, dateToBeDisplayed);
 	}
 
 	/**
 	 * If addressed too frequently, Sembient API may respond with 429 code, meaning that the call rate per second was reached.
 	 * Normally it would rarely happen due to the request rate limit, but when it does happen - adapter must retry the
-	 * attempts of retrieving needed information. This method retries up to 10 times with 500ms timeout in between to avoid the timeout exception
+	 * attempts of retrieving needed information. The request is sent in worker thread and retried up to {@link #numberOfRetry} times,
+	 * waiting for the next retry interval is scheduled on {@link #retryScheduledExecutorService} so no worker thread is held while waiting
+	 *
+	 * @param url to retrieve data from
+	 * @param request request to be sent
+	 * @return future completed with the response of the request, null if the request failed
+	 */
+	private <T> CompletableFuture<T> doGetWithRetry(String url, Callable<T> request) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		submitRequest(url, request, 1, getNumberOfRetryFromUserInput(), getRetryIntervalFromUserInput(), result);
+		return result;
+	}
+
+	/**
+	 * Submit an attempt of the request of {@link #doGetWithRetry(String, Callable)} to worker thread, then schedule the next attempt if it got 429 error
+	 *
+	 * @param url to retrieve data from
+	 * @param request request to be sent
+	 * @param attempt number of the attempt, starting from 1
+	 * @param numberOfRetries maximum number of attempts
+	 * @param retryInterval interval between 2 attempts in milliseconds
+	 * @param result future to be completed with the response of the request, null if the request failed
+	 */
+	private <T> void submitRequest(String url, Callable<T> request, int attempt, int numberOfRetries, long retryInterval, CompletableFuture<T> result) {
+		try {
+			executorService.submit(() -> {
+				try {
+					result.complete(doRequestWithRelogin(request));
+					return;
+				} catch (CommandFailureException e) {
+					logger.error(String.format("Sembient API error %s while retrieving %s data", e.getStatusCode(), url), e);
+					if (e.getStatusCode() != 429) {
+						// Might be 401, 403 or any other error code here so the code will just get stuck
+						// cycling this failed request until it's fixed. So we need to skip this scenario.
+						result.complete(null);
+						return;
+					}
+					if (attempt >= numberOfRetries || !serviceRunning) {
+						if (serviceRunning) {
+							// if we got here, all attempts failed
+							logger.error(String.format("Failed to retrieve %s data", url), e);
+						}
+						result.complete(null);
+						return;
+					}
+				} catch (Exception e) {
+					// if service is running, log error
+					if (serviceRunning) {
+						logger.error(String.format("Sembient API error while retrieving %s data", url), e);
+					}
+					result.complete(null);
+					return;
+				}
+				try {
+					retryScheduledExecutorService.schedule(() -> submitRequest(url, request, attempt + 1, numberOfRetries, retryInterval, result), retryInterval, TimeUnit.MILLISECONDS);
+				} catch (Exception e) {
+					// Scheduler is shut down when the adapter is destroyed
+					result.complete(null);
+				}
+			});
+		} catch (Exception e) {
+			// Worker pool is shut down when the adapter is destroyed
+			result.complete(null);
+		}
+	}
+
+	/**
+	 * Same retries as {@link #doGetWithRetry(String, Callable)}, but the request is sent and retried in the caller thread.
+	 * Used by the requests that the caller needs right away, so they don't wait behind the requests queued in the worker pool
 	 *
 	 * @param url to retrieve data from
-	 * @return An instance of input class
-	 */
-	private <T> T doGetWithRetry(String url, Class<T> clazz) {
-		int retryAttempts = 0;
-		Exception lastError = null;
-		int retryIntervalInInt = getNumberOfRetryFromUserInput();
-		Long retryIntervalInLong = getRetryIntervalFromUserInput();
-		while (retryAttempts++ < retryIntervalInInt && serviceRunning) {
+	 * @param request request to be sent
+	 * @return response of the request, null if the request failed
+	 */
+	private <T> T doGetWithRetryInCallerThread(String url, Callable<T> request) {
+		int numberOfRetries = getNumberOfRetryFromUserInput();
+		long retryInterval = getRetryIntervalFromUserInput();
+		for (int attempt = 1; serviceRunning; attempt++) {
 			try {
-				return doGet(url, clazz);
+				return doRequestWithRelogin(request);
 			} catch (CommandFailureException e) {
-				lastError = e;
+				logger.error(String.format("Sembient API error %s while retrieving %s data", e.getStatusCode(), url), e);
 				if (e.getStatusCode() != 429) {
 					// Might be 401, 403 or any other error code here so the code will just get stuck
 					// cycling this failed request until it's fixed. So we need to skip this scenario.
-					logger.error(String.format("Sembient API error %s while retrieving %s data", e.getStatusCode(), url), e);
-					break;
-				} else {
-					logger.error(String.format("Sembient API error %s while retrieving %s data", e.getStatusCode(), url), e);
+					return null;
+				}
+				if (attempt >= numberOfRetries) {
+					// if we got here, all attempts failed
+					logger.error(String.format("Failed to retrieve %s data", url), e);
+					return null;
 				}
 			} catch (Exception e) {
-				lastError = e;
 				// if service is running, log error
 				if (serviceRunning) {
 					logger.error(String.format("Sembient API error while retrieving %s data", url), e);
 				}
-				break;
+				return null;
 			}
 			try {
-				TimeUnit.MILLISECONDS.sleep(retryIntervalInLong);
-			} catch (InterruptedException exception) {
-				//
+				TimeUnit.MILLISECONDS.sleep(retryInterval);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
 			}
 		}
+		return null;
+	}
+
+	/**
+	 * Retrieve installation layout (buildings, regions) data with a conditional request, see {@link #createLayoutRequest(String, LayoutCacheEntry)}
+	 *
+	 * @param layoutKey key of the layout in {@link #cachedLayoutEntries}
+	 * @param url to retrieve data from
+	 * @return future completed with an instance of input class, null if the layout has not changed since the last retrieval or the request failed
+	 */
+	private <T> CompletableFuture<T> doGetLayoutWithRetry(String layoutKey, String url, Class<T> clazz) {
+		LayoutCacheEntry cachedEntry = cachedLayoutEntries.get(layoutKey);
+		return doGetWithRetry(url, createLayoutRequest(url, cachedEntry)).thenApply(response -> readLayout(layoutKey, url, clazz, cachedEntry, response));
+	}
 
-		if (retryAttempts == retryIntervalInInt && serviceRunning) {
-			// if we got here, all 10 attempts failed
-			logger.error(String.format("Failed to retrieve %s data", url), lastError);
+	/**
+	 * Create the conditional request of an installation layout.
+	 * ETag and Last-Modified of the last response are sent back as If-None-Match and If-Modified-Since, the layout is unchanged
+	 * if Sembient cloud responds with 304 (Not Modified), or if the body has the same hash as the last response when no validator is returned.
+	 *
+	 * @param url to retrieve data from
+	 * @param cachedEntry validators and hash of the last response, null if the layout was never retrieved
+	 * @return request of the layout, its response is null if Sembient cloud responds with 304 (Not Modified)
+	 */
+	private Callable<ResponseEntity<String>> createLayoutRequest(String url, LayoutCacheEntry cachedEntry) {
+		HttpHeaders headers = new HttpHeaders();
+		if (cachedEntry != null) {
+			if (cachedEntry.getETag() != null) {
+				headers.setIfNoneMatch(cachedEntry.getETag());
+			}
+			if (cachedEntry.getLastModified() >= 0) {
+				headers.setIfModifiedSince(cachedEntry.getLastModified());
+			}
+		}
+		return () -> {
+			try {
+				return doRequest(url, HttpMethod.GET, headers, null, String.class);
+			} catch (NotModifiedException e) {
+				if (logger.isDebugEnabled()) {
+					logger.debug(String.format("Installation layout of %s has not changed", url));
+				}
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * Read the response of {@link #createLayoutRequest(String, LayoutCacheEntry)}, and keep its validators and hash in {@link #cachedLayoutEntries}
+	 *
+	 * @param layoutKey key of the layout in {@link #cachedLayoutEntries}
+	 * @param url the layout is retrieved from
+	 * @param cachedEntry validators and hash of the last response, null if the layout was never retrieved
+	 * @param response response of the layout request, null if the layout has not changed or the request failed
+	 * @return An instance of input class, null if the layout has not changed since the last retrieval or the response can't be parsed
+	 */
+	private <T> T readLayout(String layoutKey, String url, Class<T> clazz, LayoutCacheEntry cachedEntry, ResponseEntity<String> response) {
+		if (response == null || response.getBody() == null) {
+			return null;
+		}
+		String body = response.getBody();
+		String contentHash = hashLayoutContent(body);
+		LayoutCacheEntry newEntry = new LayoutCacheEntry(response.getHeaders().getETag(), response.getHeaders().getLastModified(), contentHash);
+		if (cachedEntry != null && contentHash.equals(cachedEntry.getContentHash())) {
+			cachedLayoutEntries.put(layoutKey, newEntry);
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Installation layout of %s has not changed", url));
+			}
+			return null;
+		}
+		try {
+			T layout = objectMapper.readValue(body, clazz);
+			cachedLayoutEntries.put(layoutKey, newEntry);
+			return layout;
+		} catch (Exception e) {
+			logger.error(String.format("Failed to parse installation layout of %s", url), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Hash the body of an installation layout response
+	 *
+	 * @param body response body
+	 * @return Base64 encoded SHA-256 hash of the body
+	 */
+	private String hashLayoutContent(String body) {
+		try {
+			MessageDigest messageDigest = MessageDigest.getInstance(SembientAggregatorConstant.SHA_256);
+			return Base64.getEncoder().encodeToString(messageDigest.digest(body.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform supports SHA-256, the body itself is used as a fallback
+			return body;
 		}
-		return null;
 	}
 
 	/**
 	 * If addressed too frequently, Sembient API may respond with 429 code, meaning that the call rate per second was reached.
 	 * Normally it would rarely happen due to the request rate limit, but when it does happen - adapter must retry the
 	 * attempts of retrieving needed information. This method cached the error request url for retry function
+	 * Concurrent calls with the same url are coalesced into a single request in flight.
+	 *
+	 * @param url to retrieve data from
+	 * @return future completed with an instance of input class, null if the request failed
+	 */
+	private <T> CompletableFuture<T> doGetWithRetryForWorkerThread(String url, Class<T> clazz) {
+		return doGetWithRetryForWorkerThread(url, url, response -> objectMapper.readValue(response.getBody(), clazz));
+	}
+
+	/**
+	 * Retrieve floor timeseries data in worker thread, the response is read from the connection stream while it is received
+	 * and only the data of the requested devices is deserialized.
+	 *
+	 * @param url to retrieve data from
+	 * @param reader reader of the timeseries response
+	 * @param deviceNames names of the requested devices
+	 * @return future completed with the timeseries response with the data of the requested devices, null if the request failed
+	 */
+	private <T> CompletableFuture<TimeseriesResponse<T>> doGetTimeseriesWithRetryForWorkerThread(String url, TimeseriesStreamReader<T> reader, Set<String> deviceNames) {
+		// Only the requested devices are read, so concurrent calls are coalesced when they request the same devices
+		return doGetWithRetryForWorkerThread(url, getTimeseriesRequestKey(url, deviceNames), response -> reader.read(response.getBody(), deviceNames));
+	}
+
+	/**
+	 * Get the key of a timeseries request, only the requested devices are read so the key is made of the url and the device names
+	 *
+	 * @param url to retrieve data from
+	 * @param deviceNames names of the requested devices
+	 * @return request url followed by the sorted device names
+	 */
+	private String getTimeseriesRequestKey(String url, Set<String> deviceNames) {
+		return url + SembientAggregatorConstant.HASH + String.join(SembientAggregatorConstant.COMMA, new TreeSet<>(deviceNames));
+	}
+
+	/**
+	 * Retrieve floor timeseries data of a day that has already ended in worker thread.
+	 * Data of a closed day never changes, so it is retrieved once and then served from {@link #closedDayTimeseries}
+	 *
+	 * @param url to retrieve data from
+	 * @param date closed day of the timeseries data
+	 * @param reader reader of the timeseries response
+	 * @param deviceNames names of the requested devices
+	 * @return future completed with the timeseries response with the data of the requested devices, null if the request failed
+	 */
+	private <T> CompletableFuture<TimeseriesResponse<T>> doGetClosedDayTimeseriesWithRetryForWorkerThread(String url, String date, TimeseriesStreamReader<T> reader, Set<String> deviceNames) {
+		return getClosedDayTimeseries(date, getTimeseriesRequestKey(url, deviceNames), () -> doGetTimeseriesWithRetryForWorkerThread(url, reader, deviceNames));
+	}
+
+	/**
+	 * Get floor timeseries data of a day that has already ended from {@link #closedDayTimeseries}, or retrieve it if it is not cached yet.
+	 * Every response with status code 200 is cached, devices missing from it have no data for that day and won't have any later.
+	 * Failed and error responses are requested again next time.
+	 *
+	 * @param date closed day of the timeseries data
+	 * @param requestKey key of the request, the cached response only has the data of the devices requested with it
+	 * @param request retrieves the timeseries data
+	 * @return future completed with the timeseries response, null if the request failed
+	 */
+	@SuppressWarnings("unchecked")
+	<T> CompletableFuture<TimeseriesResponse<T>> getClosedDayTimeseries(String date, String requestKey, Supplier<CompletableFuture<TimeseriesResponse<T>>> request) {
+		Map<String, TimeseriesResponse<?>> closedDay = closedDayTimeseries.computeIfAbsent(date, key -> new ConcurrentHashMap<>());
+		// The request key contains the metric, building, floor and date, so the cached response has the same data type as the request
+		TimeseriesResponse<?> cachedResponse = closedDay.get(requestKey);
+		if (cachedResponse != null) {
+			return CompletableFuture.completedFuture((TimeseriesResponse<T>) cachedResponse);
+		}
+		return request.get().thenApply(response -> {
+			if (response != null && SembientAggregatorConstant.STATUS_CODE_200.equals(response.getStatusCode())) {
+				closedDay.put(requestKey, response);
+			}
+			return response;
+		});
+	}
+
+	/**
+	 * Send the request of {@link #doGetWithRetryForWorkerThread(String, Class)}, concurrent calls with the same request key
+	 * are coalesced into a single request in flight and share its response.
+	 * Callers that find a request in flight are chained on its future, so they don't hold a worker thread while it is sent.
+	 *
+	 * @param url to retrieve data from
+	 * @param requestKey key of the request in {@link #inFlightRequests}
+	 * @param responseExtractor reads the response from the connection stream
+	 * @return future completed with the response, null if the request failed
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> CompletableFuture<T> doGetWithRetryForWorkerThread(String url, String requestKey, ResponseExtractor<T> responseExtractor) {
+		CompletableFuture<Object> inFlightRequest = new CompletableFuture<>();
+		CompletableFuture<Object> existingRequest = inFlightRequests.putIfAbsent(requestKey, inFlightRequest);
+		if (existingRequest == null) {
+			sendForWorkerThread(url, responseExtractor).whenComplete((response, error) -> {
+				inFlightRequests.remove(requestKey, inFlightRequest);
+				inFlightRequest.complete(response);
+			});
+		}
+		// Attach to the request in flight and share its response
+		return (existingRequest != null ? existingRequest : inFlightRequest).thenApply(response -> {
+			if (response == TOO_MANY_REQUESTS_RESPONSE) {
+				cachedTooManyRequestError.merge(url, 1, Integer::sum);
+				return null;
+			}
+			return (T) response;
+		});
+	}
+
+	/**
+	 * Submit the request of {@link #doGetWithRetryForWorkerThread(String, String, ResponseExtractor)} to worker thread once it fits under the
+	 * {@link #adaptiveConcurrencyLimiter} limit and its {@link #requestRateLimiter} token is available. Requests over the limit wait in the
+	 * limiter queue and requests over the rate wait on the scheduler, not in worker threads.
+	 *
+	 * @param url to retrieve data from
+	 * @param responseExtractor reads the response from the connection stream
+	 * @return future completed with the response, {@link #TOO_MANY_REQUESTS_RESPONSE} if the request got 429 error, null if the request failed
+	 */
+	private CompletableFuture<Object> sendForWorkerThread(String url, ResponseExtractor<?> responseExtractor) {
+		ExecutorService workerPool = executorService;
+		ScheduledExecutorService scheduler = retryScheduledExecutorService;
+		AdaptiveConcurrencyLimiter limiter = adaptiveConcurrencyLimiter;
+		if (workerPool == null || scheduler == null) {
+			// Adapter is destroyed, the request is not sent
+			return CompletableFuture.completedFuture(null);
+		}
+		// The rate limit token is taken before the concurrency permit and waited for on the scheduler, so worker threads
+		// counted as in flight by the limiter are sending requests instead of sleeping until their token is available
+		CompletableFuture<Void> requestToken = new CompletableFuture<>();
+		long waitNanos = requestRateLimiter.reserve();
+		if (waitNanos > 0) {
+			try {
+				scheduler.schedule(() -> requestToken.complete(null), waitNanos, TimeUnit.NANOSECONDS);
+			} catch (RejectedExecutionException e) {
+				// Scheduler is shut down when the adapter is destroyed
+				return CompletableFuture.completedFuture(null);
+			}
+		} else {
+			requestToken.complete(null);
+		}
+		return requestToken.thenCompose(token -> limiter.acquire()).thenCompose(permit -> {
+			try {
+				return CompletableFuture.supplyAsync(() -> doGetForWorkerThread(limiter, url, responseExtractor), workerPool);
+			} catch (RejectedExecutionException e) {
+				// Worker pool is shut down when the adapter is destroyed, the request was never sent
+				limiter.onIgnored();
+				throw e;
+			}
+		}).exceptionally(error -> null);
+	}
+
+	/**
+	 * Send the request of {@link #doGetWithRetryForWorkerThread(String, String, ResponseExtractor)}, the caller has registered it in the limiter.
 	 *
+	 * @param limiter limiter the request is registered in
 	 * @param url to retrieve data from
-	 * @return An instance of input class
+	 * @param responseExtractor reads the response from the connection stream
+	 * @return response, {@link #TOO_MANY_REQUESTS_RESPONSE} if the request got 429 error
 	 */
-	private <T> T doGetWithRetryForWorkerThread(String url, Class<T> clazz) {
+	private Object doGetForWorkerThread(AdaptiveConcurrencyLimiter limiter, String url, ResponseExtractor<?> responseExtractor) {
 		try {
-			return doGet(url, clazz);
+			// The token of the first attempt is taken by sendForWorkerThread, the replay after a relogin takes its own
+			AtomicBoolean isTokenTaken = new AtomicBoolean(true);
+			Object response = doRequestWithRelogin(() -> doGetStream(url, responseExtractor, isTokenTaken.getAndSet(false)));
+			limiter.onSuccess();
+			return response;
 		} catch (CommandFailureException e) {
 			if (e.getStatusCode() != 429) {
+				limiter.onIgnored();
 				// Might be 401, 403 or any other error code here so the code will just get stuck
 				// cycling this failed request until it's fixed. So we need to skip this scenario.
 				logger.error(String.format("Sembient API error %s while retrieving %s data", e.getStatusCode(), url), e);
 				return null;
 			} else {
+				limiter.onDropped();
 				logger.error(String.format("Sembient API error %s while retrieving %s data", e.getStatusCode(), url), e);
 			}
 		} catch (Exception e) {
+			if (isTimeoutError(e)) {
+				limiter.onDropped();
+			} else {
+				limiter.onIgnored();
+			}
 			// if service is running, log error
 			if (serviceRunning) {
 				logger.error(String.format("Sembient API error while retrieving %s data", url), e);
 			}
 			return null;
 		}
-		cachedTooManyRequestError.add(url);
-		return null;
+		return TOO_MANY_REQUESTS_RESPONSE;
+	}
+
+	/**
+	 * Send a GET request and read its response with the response extractor while it is received from the connection,
+	 * instead of buffering the whole body first like {@link #doRequest(String, HttpMethod, HttpHeaders, Object, Class)} does.
+	 * The request has the same headers as the other requests, see {@link #putExtraRequestHeaders(HttpMethod, String, HttpHeaders)}.
+	 *
+	 * @param uri uri of the request
+	 * @param responseExtractor reads the response from the connection stream
+	 * @param isTokenTaken whether the caller has already taken the token of the request from {@link #requestRateLimiter}
+	 * @return response read by the response extractor
+	 * @throws CommandFailureException if Sembient cloud responds with an error status code
+	 * @throws Exception if the request fails
+	 */
+	private <T> T doGetStream(String uri, ResponseExtractor<T> responseExtractor, boolean isTokenTaken) throws Exception {
+		String url = buildStreamRequestUrl(uri);
+		HttpHeaders headers = new HttpHeaders();
+		if (getContentType() != null) {
+			headers.set(SembientAggregatorConstant.ACCEPT_HEADER, getContentType());
+		}
+		HttpHeaders requestHeaders = isTokenTaken ? putAuthorizationHeaders(HttpMethod.GET, uri, headers) : putExtraRequestHeaders(HttpMethod.GET, uri, headers);
+		try {
+			return obtainRestTemplate().execute(url, HttpMethod.GET, request -> request.getHeaders().putAll(requestHeaders), responseExtractor);
+		} catch (HttpStatusCodeException e) {
+			throw new CommandFailureException(getHost(), url, e.getResponseBodyAsString(), e.getRawStatusCode(), e);
+		}
+	}
+
+	/**
+	 * Build the full url of a request sent with {@link #doGetStream(String, ResponseExtractor, boolean)}, the same way the other requests are resolved
+	 * against the protocol, host, port and base uri of the adapter
+	 *
+	 * @param uri uri of the request
+	 * @return full url of the request
+	 */
+	private String buildStreamRequestUrl(String uri) {
+		if (uri.contains(SembientAggregatorConstant.PROTOCOL_SEPARATOR)) {
+			return uri;
+		}
+		StringBuilder url = new StringBuilder(getProtocol()).append(SembientAggregatorConstant.PROTOCOL_SEPARATOR);
+		if (getHost().contains(SembientAggregatorConstant.COLON)) {
+			// IPv6 address
+			url.append('[').append(getHost()).append(']');
+		} else {
+			url.append(getHost());
+		}
+		url.append(':').append(getPort());
+		String baseUri = getBaseUri();
+		if (!StringUtils.isNullOrEmpty(baseUri)) {
+			if (!baseUri.startsWith(SembientAggregatorConstant.SLASH)) {
+				url.append(SembientAggregatorConstant.SLASH);
+			}
+			url.append(baseUri);
+		}
+		if (!uri.startsWith(SembientAggregatorConstant.SLASH)) {
+			url.append(SembientAggregatorConstant.SLASH);
+		}
+		return url.append(uri).toString();
+	}
+
+	/**
+	 * Remove the too many request error of the url cached by one caller
+	 *
+	 * @param url url of the request
+	 * @return true if the request of the caller got 429 error
+	 */
+	private boolean removeTooManyRequestError(String url) {
+		boolean[] isRemoved = new boolean[1];
+		cachedTooManyRequestError.computeIfPresent(url, (key, count) -> {
+			isRemoved[0] = true;
+			return count > 1 ? count - 1 : null;
+		});
+		return isRemoved[0];
+	}
+
+	/**
+	 * Check whether the error was caused by a request timeout
+	 *
+	 * @param error error thrown by the request
+	 * @return true if the error or one of its causes is {@link SocketTimeoutException}
+	 */
+	private boolean isTimeoutError(Throwable error) {
+		for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SocketTimeoutException) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -2110,4 +3601,140 @@ public class SembientAggregatorCommunicator extends RestCommunicator implements
 		}
 		return numberOfRetry;
 	}
+
+	/**
+	 * Handle polling cycle from user input
+	 *
+	 * @return pollingCycle polling cycle in milliseconds
+	 */
+	private long getPollingCycleFromUserInput() {
+		int pollingCycleInInt = SembientAggregatorConstant.DEFAULT_POLLING_CYCLE;
+		try {
+			if (StringUtils.isNotNullOrEmpty(getPollingCycle())) {
+				pollingCycleInInt = Integer.parseInt(getPollingCycle());
+				if (pollingCycleInInt < SembientAggregatorConstant.DEFAULT_POLLING_CYCLE) {
+					logger.warn(String.format("Polling cycle value %s is shorter than %s minutes, %s minutes is used", pollingCycleInInt, SembientAggregatorConstant.DEFAULT_POLLING_CYCLE,
+							SembientAggregatorConstant.DEFAULT_POLLING_CYCLE));
+					pollingCycleInInt = SembientAggregatorConstant.DEFAULT_POLLING_CYCLE;
+				}
+			}
+		} catch (Exception e) {
+			logger.error(String.format("Invalid polling cycle value: %s", getPollingCycle()));
+		}
+		return pollingCycleInInt * SembientAggregatorConstant.MINUTE_TO_MS;
+	}
+
+	/**
+	 * Retrieves the time budget of a data collection cycle, the shortest polling cycle of Thermal, Airquality, Occupancy.
+	 * Floors that are not started within the budget are deferred, so no floor waits longer than a cycle behind the others
+	 *
+	 * @return time budget of a cycle in milliseconds
+	 */
+	private long getCycleTimeBudget() {
+		return Math.min(getFloorDataPollingCycleFromUserInput(SembientAggregatorConstant.AIR_QUALITY),
+				Math.min(getFloorDataPollingCycleFromUserInput(SembientAggregatorConstant.THERMAL), getFloorDataPollingCycleFromUserInput(SembientAggregatorConstant.OCCUPANCY_LIST)));
+	}
+
+	/**
+	 * Handle polling cycle of a metric family from user input, {@link #pollingCycle} is used if the polling cycle of the family is not set.
+	 * Same as {@link #pollingCycle}, the polling cycle of a family can't be shorter than {@link SembientAggregatorConstant#DEFAULT_POLLING_CYCLE} minutes
+	 *
+	 * @param family metric family: AirQuality, Thermal, OccupancyList or RegionTags
+	 * @return polling cycle of the family in milliseconds
+	 */
+	long getFloorDataPollingCycleFromUserInput(String family) {
+		String familyPollingCycle;
+		switch (family) {
+			case SembientAggregatorConstant.AIR_QUALITY:
+				familyPollingCycle = getIaqPollingCycle();
+				break;
+			case SembientAggregatorConstant.THERMAL:
+				familyPollingCycle = getThermalPollingCycle();
+				break;
+			case SembientAggregatorConstant.OCCUPANCY_LIST:
+				familyPollingCycle = getOccupancyPollingCycle();
+				break;
+			case SembientAggregatorConstant.REGION_TAG:
+				return getRegionTagPollingCycleFromUserInput();
+			default:
+				return getPollingCycleFromUserInput();
+		}
+		try {
+			if (StringUtils.isNotNullOrEmpty(familyPollingCycle)) {
+				int familyPollingCycleInInt = Integer.parseInt(familyPollingCycle);
+				if (familyPollingCycleInInt < SembientAggregatorConstant.DEFAULT_POLLING_CYCLE) {
+					logger.warn(String.format("%s polling cycle value %s is shorter than %s minutes, %s minutes is used", family, familyPollingCycleInInt,
+							SembientAggregatorConstant.DEFAULT_POLLING_CYCLE, SembientAggregatorConstant.DEFAULT_POLLING_CYCLE));
+					familyPollingCycleInInt = SembientAggregatorConstant.DEFAULT_POLLING_CYCLE;
+				}
+				return familyPollingCycleInInt * SembientAggregatorConstant.MINUTE_TO_MS;
+			}
+		} catch (Exception e) {
+			logger.error(String.format("Invalid %s polling cycle value: %s", family, familyPollingCycle));
+		}
+		return getPollingCycleFromUserInput();
+	}
+
+	/**
+	 * Handle region tag polling cycle from user input, same as the other families it can't be shorter than
+	 * {@link SembientAggregatorConstant#DEFAULT_POLLING_CYCLE} minutes
+	 *
+	 * @return regionTagPollingCycle region tag polling cycle in milliseconds
+	 */
+	private long getRegionTagPollingCycleFromUserInput() {
+		int regionTagPollingCycleInInt = SembientAggregatorConstant.DEFAULT_REGION_TAG_POLLING_CYCLE;
+		try {
+			if (StringUtils.isNotNullOrEmpty(getRegionTagPollingCycle())) {
+				regionTagPollingCycleInInt = Integer.parseInt(getRegionTagPollingCycle());
+				if (regionTagPollingCycleInInt < SembientAggregatorConstant.DEFAULT_POLLING_CYCLE) {
+					logger.warn(String.format("%s polling cycle value %s is shorter than %s minutes, %s minutes is used", SembientAggregatorConstant.REGION_TAG,
+							regionTagPollingCycleInInt, SembientAggregatorConstant.DEFAULT_POLLING_CYCLE, SembientAggregatorConstant.DEFAULT_POLLING_CYCLE));
+					regionTagPollingCycleInInt = SembientAggregatorConstant.DEFAULT_POLLING_CYCLE;
+				}
+			}
+		} catch (Exception e) {
+			logger.error(String.format("Invalid region tag polling cycle value: %s", getRegionTagPollingCycle()));
+		}
+		return regionTagPollingCycleInInt * SembientAggregatorConstant.MINUTE_TO_MS;
+	}
+
+	/**
+	 * Handle request rate limit from user input
+	 *
+	 * @return requestRateLimit maximum number of requests per second
+	 */
+	private double getRequestRateLimitFromUserInput() {
+		double requestRateLimitInDouble = SembientAggregatorConstant.DEFAULT_REQUEST_RATE_LIMIT;
+		try {
+			if (StringUtils.isNotNullOrEmpty(getRequestRateLimit())) {
+				requestRateLimitInDouble = Double.parseDouble(getRequestRateLimit());
+				if (requestRateLimitInDouble <= 0) {
+					requestRateLimitInDouble = SembientAggregatorConstant.DEFAULT_REQUEST_RATE_LIMIT;
+				}
+			}
+		} catch (Exception e) {
+			logger.error(String.format("Invalid request rate limit value: %s", getRequestRateLimit()));
+		}
+		return requestRateLimitInDouble;
+	}
+
+	/**
+	 * Handle discovery parallelism from user input, limited to the number of worker threads but the one of the device data loader
+	 *
+	 * @return discoveryParallelism maximum number of discovery requests run in parallel
+	 */
+	private int getDiscoveryParallelismFromUserInput() {
+		int discoveryParallelismInInt = SembientAggregatorConstant.DEFAULT_DISCOVERY_PARALLELISM;
+		try {
+			if (StringUtils.isNotNullOrEmpty(getDiscoveryParallelism())) {
+				discoveryParallelismInInt = Integer.parseInt(getDiscoveryParallelism());
+				if (discoveryParallelismInInt <= 0) {
+					discoveryParallelismInInt = SembientAggregatorConstant.DEFAULT_DISCOVERY_PARALLELISM;
+				}
+			}
+		} catch (Exception e) {
+			logger.error(String.format("Invalid discovery parallelism value: %s", getDiscoveryParallelism()));
+		}
+		return Math.min(discoveryParallelismInInt, SembientAggregatorConstant.MAX_NO_THREADS - 1);
+	}
 }
\ No newline at end of file
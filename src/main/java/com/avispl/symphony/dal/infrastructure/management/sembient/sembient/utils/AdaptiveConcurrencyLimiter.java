@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * AdaptiveConcurrencyLimiter - Limits the number of in-flight requests with AIMD (additive increase, multiplicative decrease) control:
+ * <ol>
+ *   <li>Every successful request increases the limit by 1 / limit, so the limit grows by 1 once a full window of requests succeeded</li>
+ *   <li>Every throttled (429) or timed out request cuts the limit in half</li>
+ * </ol>
+ * Callers over the limit are not blocked, they get a future that is completed once an in-flight request is released.
+ *
+ * @author Kevin / Symphony Dev Team<br>
+ * Created on 10/17/2026
+ * @since 1.0.2
+ */
+public class AdaptiveConcurrencyLimiter {
+
+	private static final double DECREASE_FACTOR = 0.5;
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+	private double limit;
+	private int inFlight;
+
+	/**
+	 * Parameters constructors
+	 *
+	 * @param minLimit minimum number of in-flight requests
+	 * @param maxLimit maximum number of in-flight requests, also the initial limit
+	 */
+	public AdaptiveConcurrencyLimiter(int minLimit, int maxLimit) {
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.limit = maxLimit;
+	}
+
+	/**
+	 * Retrieves current limit of in-flight requests
+	 *
+	 * @return current limit of in-flight requests
+	 */
+	public synchronized int getLimit() {
+		return (int) limit;
+	}
+
+	/**
+	 * Register a new in-flight request as soon as the number of in-flight requests is under the current limit.
+	 * Callers are served in order, the returned future is completed on the thread that releases the in-flight request.
+	 *
+	 * @return future completed once the request is registered
+	 */
+	public CompletableFuture<Void> acquire() {
+		synchronized (this) {
+			if (waiters.isEmpty() && inFlight < (int) limit) {
+				inFlight++;
+				return CompletableFuture.completedFuture(null);
+			}
+			CompletableFuture<Void> waiter = new CompletableFuture<>();
+			waiters.add(waiter);
+			return waiter;
+		}
+	}
+
+	/**
+	 * Release an in-flight request that succeeded, the limit is increased additively
+	 */
+	public void onSuccess() {
+		List<CompletableFuture<Void>> admittedWaiters;
+		synchronized (this) {
+			if (inFlight == 0) {
+				return;
+			}
+			limit = Math.min(maxLimit, limit + 1 / limit);
+			admittedWaiters = release();
+		}
+		admittedWaiters.forEach(waiter -> waiter.complete(null));
+	}
+
+	/**
+	 * Release an in-flight request that was throttled or timed out, the limit is decreased multiplicatively
+	 */
+	public void onDropped() {
+		List<CompletableFuture<Void>> admittedWaiters;
+		synchronized (this) {
+			if (inFlight == 0) {
+				return;
+			}
+			limit = Math.max(minLimit, limit * DECREASE_FACTOR);
+			admittedWaiters = release();
+		}
+		admittedWaiters.forEach(waiter -> waiter.complete(null));
+	}
+
+	/**
+	 * Release an in-flight request that failed for another reason, the limit is kept as is
+	 */
+	public void onIgnored() {
+		List<CompletableFuture<Void>> admittedWaiters;
+		synchronized (this) {
+			if (inFlight == 0) {
+				return;
+			}
+			admittedWaiters = release();
+		}
+		admittedWaiters.forEach(waiter -> waiter.complete(null));
+	}
+
+	/**
+	 * Fail every waiting caller, used when the requests are no longer sent (adapter is destroyed).
+	 * In-flight requests are not released, the limiter is not used anymore after it.
+	 */
+	public void cancelWaiters() {
+		List<CompletableFuture<Void>> cancelledWaiters;
+		synchronized (this) {
+			cancelledWaiters = new ArrayList<>(waiters);
+			waiters.clear();
+		}
+		cancelledWaiters.forEach(waiter -> waiter.cancel(false));
+	}
+
+	/**
+	 * Unregister an in-flight request and register the waiting callers that fit under the limit.
+	 * A release without a registered in-flight request is ignored by the callers, so the limit can't be exceeded.
+	 *
+	 * @return waiting callers to be completed, outside of the lock
+	 */
+	private List<CompletableFuture<Void>> release() {
+		inFlight--;
+		List<CompletableFuture<Void>> admittedWaiters = new ArrayList<>();
+		while (!waiters.isEmpty() && inFlight < (int) limit) {
+			admittedWaiters.add(waiters.poll());
+			inFlight++;
+		}
+		return admittedWaiters;
+	}
+}
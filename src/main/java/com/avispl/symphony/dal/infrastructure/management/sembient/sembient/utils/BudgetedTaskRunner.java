@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * BudgetedTaskRunner - Runs asynchronous tasks in order with a bounded number of tasks in progress and a deadline:
+ * <ol>
+ *   <li>A task is started when a task in progress is finished, so tasks queue here instead of queueing their requests</li>
+ *   <li>No task is started after the deadline, the tasks that are not started yet are left for the caller to defer</li>
+ * </ol>
+ *
+ * @param <K> key of a task
+ * @author Kevin / Symphony Dev Team<br>
+ * Created on 10/17/2026
+ * @since 1.0.2
+ */
+public class BudgetedTaskRunner<K> {
+
+	private final Queue<K> pendingTasks;
+	private final Function<K, CompletableFuture<?>> task;
+	private final long deadline;
+	private final LongSupplier clock;
+
+	/**
+	 * Parameters constructors
+	 *
+	 * @param keys keys of the tasks, in start order
+	 * @param task starts the task of a key, its future is completed when the task is finished
+	 * @param deadline timestamp in milliseconds after which no task is started
+	 */
+	public BudgetedTaskRunner(Collection<K> keys, Function<K, CompletableFuture<?>> task, long deadline) {
+		this(keys, task, deadline, System::currentTimeMillis);
+	}
+
+	/**
+	 * Parameters constructors with the time source, used by unit tests to control the deadline
+	 *
+	 * @param keys keys of the tasks, in start order
+	 * @param task starts the task of a key, its future is completed when the task is finished
+	 * @param deadline timestamp after which no task is started
+	 * @param clock source of the current time
+	 */
+	BudgetedTaskRunner(Collection<K> keys, Function<K, CompletableFuture<?>> task, long deadline, LongSupplier clock) {
+		this.pendingTasks = new ConcurrentLinkedQueue<>(keys);
+		this.task = task;
+		this.deadline = deadline;
+		this.clock = clock;
+	}
+
+	/**
+	 * Start the tasks, at most parallelism tasks at a time
+	 *
+	 * @param parallelism maximum number of tasks in progress
+	 * @return future completed when the started tasks are finished and no other task can be started
+	 */
+	public CompletableFuture<Void> start(int parallelism) {
+		List<CompletableFuture<Void>> workers = new ArrayList<>();
+		for (int i = 0; i < Math.max(1, parallelism); i++) {
+			workers.add(runNextTask());
+		}
+		return CompletableFuture.allOf(workers.toArray(new CompletableFuture[0]));
+	}
+
+	/**
+	 * Remove the tasks that are not started yet, so they are never started
+	 *
+	 * @return keys of the tasks that are not started, in start order
+	 */
+	public List<K> drainPendingTasks() {
+		List<K> drainedTasks = new ArrayList<>();
+		K key;
+		while ((key = pendingTasks.poll()) != null) {
+			drainedTasks.add(key);
+		}
+		return drainedTasks;
+	}
+
+	/**
+	 * Start the next pending task, then the one after it until no task is pending or the deadline is passed.
+	 * Tasks that are finished right away are run in a loop, so a long run of them doesn't nest the completions.
+	 *
+	 * @return future completed when no other task can be started
+	 */
+	private CompletableFuture<Void> runNextTask() {
+		while (clock.getAsLong() <= deadline) {
+			K key = pendingTasks.poll();
+			if (key == null) {
+				break;
+			}
+			CompletableFuture<?> taskFuture;
+			try {
+				taskFuture = task.apply(key);
+			} catch (Exception e) {
+				// The task handles its own errors, a task that can't be started is finished
+				continue;
+			}
+			if (!taskFuture.isDone()) {
+				return taskFuture.handle((result, error) -> null).thenCompose(result -> runNextTask());
+			}
+		}
+		return CompletableFuture.completedFuture(null);
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils;
+
+/**
+ * LayoutCacheEntry - Validators of the last installation layout (buildings, regions) response received for a request:
+ * <ol>
+ *   <li>ETag, sent back as If-None-Match</li>
+ *   <li>Last-Modified, sent back as If-Modified-Since</li>
+ *   <li>Hash of the response body, used when Sembient cloud returns none of the validators above</li>
+ * </ol>
+ *
+ * @author Kevin / Symphony Dev Team<br>
+ * Created on 10/17/2026
+ * @since 1.0.2
+ */
+public class LayoutCacheEntry {
+
+	private final String eTag;
+	private final long lastModified;
+	private final String contentHash;
+
+	/**
+	 * Parameters constructors
+	 *
+	 * @param eTag ETag of the response, null if not available
+	 * @param lastModified Last-Modified of the response in milliseconds, -1 if not available
+	 * @param contentHash hash of the response body
+	 */
+	public LayoutCacheEntry(String eTag, long lastModified, String contentHash) {
+		this.eTag = eTag;
+		this.lastModified = lastModified;
+		this.contentHash = contentHash;
+	}
+
+	/**
+	 * Retrieves {@link #eTag}
+	 *
+	 * @return value of {@link #eTag}
+	 */
+	public String getETag() {
+		return eTag;
+	}
+
+	/**
+	 * Retrieves {@link #lastModified}
+	 *
+	 * @return value of {@link #lastModified}
+	 */
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	/**
+	 * Retrieves {@link #contentHash}
+	 *
+	 * @return value of {@link #contentHash}
+	 */
+	public String getContentHash() {
+		return contentHash;
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.avispl.symphony.dal.util.StringUtils;
+
+/**
+ * NameFilter - Comma separated filter (building, floor, device name, region type) compiled once:
+ * <ol>
+ *   <li>Names without wildcard are kept in a hash set, so they are matched with a single lookup</li>
+ *   <li>Names with wildcards ('*' for any characters, '?' for a single character) are compiled into a single pattern</li>
+ * </ol>
+ * An empty filter matches every name.
+ *
+ * @author Kevin / Symphony Dev Team<br>
+ * Created on 10/17/2026
+ * @since 1.0.2
+ */
+public class NameFilter {
+
+	/**
+	 * Filter that matches every name
+	 */
+	public static final NameFilter EMPTY = new NameFilter(Collections.emptySet(), null);
+
+	private final Set<String> names;
+	private final Pattern pattern;
+
+	/**
+	 * Parameters constructors
+	 *
+	 * @param names names without wildcard
+	 * @param pattern pattern of the names with wildcards, null if there is none
+	 */
+	private NameFilter(Set<String> names, Pattern pattern) {
+		this.names = names;
+		this.pattern = pattern;
+	}
+
+	/**
+	 * Compile a comma separated filter, names are trimmed and empty names are ignored
+	 *
+	 * @param filter comma separated filter
+	 * @return compiled filter, {@link #EMPTY} if the filter is null or empty
+	 */
+	public static NameFilter compile(String filter) {
+		if (StringUtils.isNullOrEmpty(filter)) {
+			return EMPTY;
+		}
+		Set<String> names = new LinkedHashSet<>();
+		StringBuilder regex = new StringBuilder();
+		for (String name : filter.split(SembientAggregatorConstant.COMMA)) {
+			String trimmedName = name.trim();
+			if (trimmedName.isEmpty()) {
+				continue;
+			}
+			if (trimmedName.indexOf('*') < 0 && trimmedName.indexOf('?') < 0) {
+				names.add(trimmedName);
+				continue;
+			}
+			if (regex.length() != 0) {
+				regex.append('|');
+			}
+			regex.append("(?:").append(toRegex(trimmedName)).append(')');
+		}
+		if (names.isEmpty() && regex.length() == 0) {
+			return EMPTY;
+		}
+		return new NameFilter(Collections.unmodifiableSet(names), regex.length() == 0 ? null : Pattern.compile(regex.toString()));
+	}
+
+	/**
+	 * Convert a name with wildcards to a regular expression, other characters are matched literally
+	 *
+	 * @param name name with wildcards
+	 * @return regular expression
+	 */
+	private static String toRegex(String name) {
+		StringBuilder regex = new StringBuilder();
+		StringBuilder literal = new StringBuilder();
+		for (char c : name.toCharArray()) {
+			if (c != '*' && c != '?') {
+				literal.append(c);
+				continue;
+			}
+			if (literal.length() != 0) {
+				regex.append(Pattern.quote(literal.toString()));
+				literal.setLength(0);
+			}
+			regex.append(c == '*' ? ".*" : ".");
+		}
+		if (literal.length() != 0) {
+			regex.append(Pattern.quote(literal.toString()));
+		}
+		return regex.toString();
+	}
+
+	/**
+	 * Check whether a name matches the filter
+	 *
+	 * @param name name to be checked
+	 * @return true if the filter is empty, or the name matches one of the names of the filter
+	 */
+	public boolean matches(String name) {
+		if (isEmpty()) {
+			return true;
+		}
+		if (name == null) {
+			return false;
+		}
+		return names.contains(name) || (pattern != null && pattern.matcher(name).matches());
+	}
+
+	/**
+	 * Check whether the filter is empty
+	 *
+	 * @return true if the filter has no name
+	 */
+	public boolean isEmpty() {
+		return names.isEmpty() && pattern == null;
+	}
+
+	/**
+	 * Check whether the filter has names with wildcards
+	 *
+	 * @return true if the filter has at least one name with wildcards
+	 */
+	public boolean hasWildcard() {
+		return pattern != null;
+	}
+
+	/**
+	 * Retrieves {@link #names}
+	 *
+	 * @return names without wildcard, in the order of the filter
+	 */
+	public Set<String> getNames() {
+		return names;
+	}
+}
@@ -20,6 +20,7 @@ public class SembientAggregatorConstant {
 
 	public static final String COMMA = ",";
 	public static final String SLASH = "/";
+	public static final String PROTOCOL_SEPARATOR = "://";
 	public static final String YYYY_MM_DD = "yyyy-MM-dd";
 	public static final String UTC_TIMEZONE = "UTC";
 	public static final String CREATE_NEW_TAG = "CreateNewTag";
@@ -38,9 +39,12 @@ public class SembientAggregatorConstant {
 	public static final String HOUR = "Hour";
 	public static final int DEFAULT_INSTALLATION_LAYOUT_POLLING_CYCLE = 10;
 	public static final int DEFAULT_POLLING_CYCLE = 30;
+	public static final int DEFAULT_REGION_TAG_POLLING_CYCLE = 60;
 	public static final int DEFAULT_RETRY_INTERVAL = 5000;
 	public static final int DEFAULT_RETRY_INTERVAL_FOR_MAIN_THREAD = 500;
 	public static final int DEFAULT_NUMBER_OF_RETRY = 10;
+	public static final int DEFAULT_REQUEST_RATE_LIMIT = 10;
+	public static final int DEFAULT_DISCOVERY_PARALLELISM = 4;
 	public static final int REST_COMMUNICATOR_TIMEOUT = 30000;
 	public static final String REGION_TAG_NEW_TAG = "RegionTags#NewTag";
 	public static final String REGION_TAG_CREATE = "RegionTags#CreateNewTag";
@@ -89,6 +93,10 @@ public class SembientAggregatorConstant {
 	public static final String TVOC_VALUE_LATEST_MICROGRAM = "TVOCLatest(microgram/m3)";
 	public static final String PM_25_VALUE_LATEST_MICROMET = "PM2.5Latest(microgram/m3)";
 	public static final long MINUTE_TO_MS = 60000L;
+	public static final long TOKEN_REFRESH_MARGIN = 5 * MINUTE_TO_MS;
+	public static final double POLLING_JITTER_RATIO = 0.05;
+	public static final double POLLING_SLOT_SKIP_RATIO = 0.5;
+	public static final double PRIORITY_COLLECTION_RATIO = 0.25;
 	public static final String NEXT_INSTALLATION_LAYOUT_POLLING_CYCLE = "NextInstallationLayoutPollingCycle";
 	public static final int MAXIMUM_RETRY = 10;
 	public static final int MAX_NO_THREADS = 8;
@@ -134,5 +142,15 @@ public class SembientAggregatorConstant {
 	public static final String FROM_TIME = "FromTime";
 	public static final String TO_TIME = "ToTime";
 	public static final String NEXT_POLLING_CYCLE = "NextPollingCycle";
+	public static final String ADAPTIVE_CONCURRENCY_LIMIT = "AdaptiveConcurrencyLimit";
+	public static final String DEFERRED_DEVICES = "DeferredDevices";
+	public static final String SHA_256 = "SHA-256";
+	public static final String STATUS_CODE_FIELD = "statusCode";
+	public static final String BODY_FIELD = "body";
+	public static final String DATA_FIELD = "data";
+	public static final String SENSORS_FIELD = "sensors";
+	public static final String REGIONS_FIELD = "regions";
+	public static final String SENSOR_NAME_FIELD = "sensorName";
+	public static final String REGION_NAME_FIELD = "regionName";
 	public static final String FLOAT_WITH_TWO_DECIMAL = "%.2f";
 }
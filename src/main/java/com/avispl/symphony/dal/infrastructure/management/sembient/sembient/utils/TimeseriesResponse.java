@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * TimeseriesResponse - Timeseries response of a floor read by {@link TimeseriesStreamReader}, contain information about:
+ * <ol>
+ *   <li>Status code</li>
+ *   <li>Number of devices (sensors or regions) in the response</li>
+ *   <li>Timeseries data of the requested devices, key is the device name</li>
+ * </ol>
+ *
+ * @param <T> type of the timeseries data of a device
+ * @author Kevin / Symphony Dev Team<br>
+ * Created on 10/17/2026
+ * @since 1.0.2
+ */
+public class TimeseriesResponse<T> {
+
+	private String statusCode;
+	private int deviceCount;
+	private final Map<String, T> deviceData = new HashMap<>();
+
+	/**
+	 * Retrieves {@link #statusCode}
+	 *
+	 * @return value of {@link #statusCode}
+	 */
+	public String getStatusCode() {
+		return statusCode;
+	}
+
+	/**
+	 * Sets {@link #statusCode} value
+	 *
+	 * @param statusCode new value of {@link #statusCode}
+	 */
+	public void setStatusCode(String statusCode) {
+		this.statusCode = statusCode;
+	}
+
+	/**
+	 * Retrieves {@link #deviceCount}
+	 *
+	 * @return value of {@link #deviceCount}
+	 */
+	public int getDeviceCount() {
+		return deviceCount;
+	}
+
+	/**
+	 * Sets {@link #deviceCount} value
+	 *
+	 * @param deviceCount new value of {@link #deviceCount}
+	 */
+	public void setDeviceCount(int deviceCount) {
+		this.deviceCount = deviceCount;
+	}
+
+	/**
+	 * Retrieves {@link #deviceData}
+	 *
+	 * @return value of {@link #deviceData}
+	 */
+	public Map<String, T> getDeviceData() {
+		return deviceData;
+	}
+
+}
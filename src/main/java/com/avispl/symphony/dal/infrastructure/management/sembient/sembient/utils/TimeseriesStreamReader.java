@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * TimeseriesStreamReader - Reads floor timeseries responses (air quality, thermal, occupancy) token by token with {@link JsonParser}:
+ * <ol>
+ *   <li>Only the timeseries data of the requested devices is bound, data of the other devices is skipped without being deserialized</li>
+ *   <li>Data that comes before the device name is buffered until the name is known</li>
+ *   <li>If a device is listed more than once, its last entry is kept</li>
+ * </ol>
+ * The reader consumes the stream as it is received, so the caller can pass the live response stream without buffering the body first.
+ * Expected response format: {"statusCode": ..., "body": {"&lt;devicesField&gt;": [{"&lt;nameField&gt;": ..., "data": [...]}, ...]}}
+ *
+ * @param <T> type of the timeseries data of a device
+ * @author Kevin / Symphony Dev Team<br>
+ * Created on 10/17/2026
+ * @since 1.0.2
+ */
+public class TimeseriesStreamReader<T> {
+
+	private final ObjectMapper objectMapper;
+	private final String devicesField;
+	private final String nameField;
+	private final Class<T> dataClass;
+
+	/**
+	 * Parameters constructors
+	 *
+	 * @param objectMapper object mapper used to bind the data of the requested devices
+	 * @param devicesField name of the array of devices in the response body
+	 * @param nameField name of the device name field
+	 * @param dataClass class of the timeseries data of a device
+	 */
+	public TimeseriesStreamReader(ObjectMapper objectMapper, String devicesField, String nameField, Class<T> dataClass) {
+		this.objectMapper = objectMapper;
+		this.devicesField = devicesField;
+		this.nameField = nameField;
+		this.dataClass = dataClass;
+	}
+
+	/**
+	 * Read the timeseries data of the requested devices
+	 *
+	 * @param content response content
+	 * @param deviceNames names of the requested devices
+	 * @return timeseries response with the data of the requested devices
+	 * @throws IOException if the response is not a valid timeseries response
+	 */
+	public TimeseriesResponse<T> read(InputStream content, Set<String> deviceNames) throws IOException {
+		TimeseriesResponse<T> response = new TimeseriesResponse<>();
+		try (JsonParser parser = objectMapper.getFactory().createParser(content)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new IOException("Timeseries response is not a JSON object");
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String fieldName = parser.getCurrentName();
+				JsonToken token = parser.nextToken();
+				if (SembientAggregatorConstant.STATUS_CODE_FIELD.equals(fieldName)) {
+					response.setStatusCode(token == JsonToken.VALUE_NULL ? null : parser.getValueAsString());
+				} else if (SembientAggregatorConstant.BODY_FIELD.equals(fieldName) && token == JsonToken.START_OBJECT) {
+					readBody(parser, deviceNames, response);
+				} else {
+					parser.skipChildren();
+				}
+			}
+		}
+		return response;
+	}
+
+	/**
+	 * Read the response body, the parser is positioned at the start of the body object
+	 *
+	 * @param parser JSON parser
+	 * @param deviceNames names of the requested devices
+	 * @param response timeseries response to be populated
+	 * @throws IOException if the body is not valid
+	 */
+	private void readBody(JsonParser parser, Set<String> deviceNames, TimeseriesResponse<T> response) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			if (devicesField.equals(fieldName) && token == JsonToken.START_ARRAY) {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					response.setDeviceCount(response.getDeviceCount() + 1);
+					readDevice(parser, deviceNames, response);
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	/**
+	 * Read the timeseries data of a device, the parser is positioned at the start of the device object
+	 *
+	 * @param parser JSON parser
+	 * @param deviceNames names of the requested devices
+	 * @param response timeseries response to be populated
+	 * @throws IOException if the device object is not valid
+	 */
+	private void readDevice(JsonParser parser, Set<String> deviceNames, TimeseriesResponse<T> response) throws IOException {
+		String deviceName = null;
+		T data = null;
+		TokenBuffer bufferedData = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String fieldName = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			if (nameField.equals(fieldName)) {
+				deviceName = token == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+			} else if (SembientAggregatorConstant.DATA_FIELD.equals(fieldName) && token != JsonToken.VALUE_NULL) {
+				if (deviceName == null) {
+					// Device name is not known yet, so the data is kept as tokens until the end of the device object
+					bufferedData = new TokenBuffer(parser);
+					bufferedData.copyCurrentStructure(parser);
+				} else if (deviceNames.contains(deviceName)) {
+					data = objectMapper.readValue(parser, dataClass);
+				} else {
+					parser.skipChildren();
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+		if (deviceName == null || !deviceNames.contains(deviceName)) {
+			return;
+		}
+		if (data == null && bufferedData != null) {
+			try (JsonParser bufferedParser = bufferedData.asParser()) {
+				data = objectMapper.readValue(bufferedParser, dataClass);
+			}
+		}
+		// Same as binding the devices array to a map, a later entry of the same device replaces the previous one
+		response.getDeviceData().put(deviceName, data);
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * TokenBucketRateLimiter - Client side limiter that keeps the rate of requests sent to Sembient cloud under the configured
+ * number of requests per second. Tokens are refilled continuously, up to one second worth of burst.
+ * Callers that find the bucket empty reserve the next token and wait for it, so waiting callers are served in order.
+ * Callers that can't block a thread reserve the token with {@link #reserve()} and schedule the request at its time instead.
+ *
+ * @author Kevin / Symphony Dev Team<br>
+ * Created on 10/17/2026
+ * @since 1.0.2
+ */
+public class TokenBucketRateLimiter {
+
+	private final LongSupplier nanoClock;
+	private final Sleeper sleeper;
+	private double permitsPerSecond;
+	private double storedPermits;
+	private long lastRefillNanos;
+
+	/**
+	 * Parameters constructors
+	 *
+	 * @param permitsPerSecond number of requests allowed per second
+	 */
+	public TokenBucketRateLimiter(double permitsPerSecond) {
+		this(permitsPerSecond, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+	}
+
+	/**
+	 * Parameters constructors with the time source, used by unit tests to control the refill
+	 *
+	 * @param permitsPerSecond number of requests allowed per second
+	 * @param nanoClock source of the current time in nanoseconds
+	 * @param sleeper waits for the given number of nanoseconds
+	 */
+	TokenBucketRateLimiter(double permitsPerSecond, LongSupplier nanoClock, Sleeper sleeper) {
+		this.nanoClock = nanoClock;
+		this.sleeper = sleeper;
+		this.permitsPerSecond = permitsPerSecond;
+		this.storedPermits = getMaxPermits();
+		this.lastRefillNanos = nanoClock.getAsLong();
+	}
+
+	/**
+	 * Sets {@link #permitsPerSecond} value
+	 *
+	 * @param permitsPerSecond new value of {@link #permitsPerSecond}
+	 */
+	public synchronized void setPermitsPerSecond(double permitsPerSecond) {
+		refill();
+		this.permitsPerSecond = permitsPerSecond;
+		storedPermits = Math.min(storedPermits, getMaxPermits());
+	}
+
+	/**
+	 * Take one token from the bucket, waiting until it is available
+	 *
+	 * @throws InterruptedException if the thread is interrupted while waiting for the token
+	 */
+	public void acquire() throws InterruptedException {
+		long waitNanos = reserve();
+		if (waitNanos > 0) {
+			sleeper.sleep(waitNanos);
+		}
+	}
+
+	/**
+	 * Take one token from the bucket without waiting, the caller waits for it on its own before sending the request
+	 *
+	 * @return time in nanoseconds until the token is available, 0 if it is available now
+	 */
+	public synchronized long reserve() {
+		refill();
+		storedPermits -= 1;
+		return storedPermits >= 0 ? 0 : (long) (-storedPermits / permitsPerSecond * TimeUnit.SECONDS.toNanos(1));
+	}
+
+	/**
+	 * Add the tokens generated since the last refill
+	 */
+	private void refill() {
+		long now = nanoClock.getAsLong();
+		storedPermits = Math.min(getMaxPermits(), storedPermits + (now - lastRefillNanos) * permitsPerSecond / TimeUnit.SECONDS.toNanos(1));
+		lastRefillNanos = now;
+	}
+
+	/**
+	 * Maximum number of tokens in the bucket, one second worth of requests
+	 *
+	 * @return maximum number of tokens
+	 */
+	private double getMaxPermits() {
+		return Math.max(1, permitsPerSecond);
+	}
+
+	/**
+	 * Waits for a token that is not available yet
+	 */
+	interface Sleeper {
+
+		/**
+		 * Wait for the given time
+		 *
+		 * @param nanos time to wait in nanoseconds
+		 * @throws InterruptedException if the thread is interrupted while waiting
+		 */
+		void sleep(long nanos) throws InterruptedException;
+	}
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2026 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.sembient.sembient;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.security.auth.login.FailedLoginException;
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.api.dal.dto.control.ControllableProperty;
+import com.avispl.symphony.api.dal.error.CommandFailureException;
+import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.region.RegionTagWrapperControl;
+import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.thermal.ThermalData;
+import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils.SembientAggregatorConstant;
+import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils.TimeseriesResponse;
+
+/**
+ * Unit test for {@link SembientAggregatorCommunicator} with Sembient cloud responses replaced by canned ones
+ *
+ * @author Kevin / Symphony Dev Team<br>
+ * Created on 10/17/2026
+ * @since 1.0.2
+ */
+@Tag("Mock")
+class SembientAggregatorCommunicatorMockTest {
+	private static final String LOGIN_RESPONSE = "{\"statusCode\": \"200\", \"body\": {\"exp\": 3600, \"idToken\": \"token\", \"cid\": \"C1\", \"apiKey\": \"key\"}}";
+
+	/**
+	 * Communicator that answers the login with {@link #LOGIN_RESPONSE}, and rejects the first region tag creation with the error
+	 * RestCommunicator reports for 401
+	 */
+	private static class UnauthorizedOnceCommunicator extends SembientAggregatorCommunicator {
+		private final AtomicInteger logins = new AtomicInteger();
+		private final AtomicInteger puts = new AtomicInteger();
+		private final Exception firstPutError;
+
+		/**
+		 * Parameters constructors
+		 *
+		 * @param firstPutError error of the first region tag creation
+		 */
+		UnauthorizedOnceCommunicator(Exception firstPutError) {
+			this.firstPutError = firstPutError;
+		}
+
+		@Override
+		protected String doPost(String uri, Map<String, String> headers, String data) {
+			logins.incrementAndGet();
+			return LOGIN_RESPONSE;
+		}
+
+		@Override
+		protected <Request, Response> Response doPut(String uri, Request data, Class<Response> responseClass) throws Exception {
+			if (puts.incrementAndGet() == 1) {
+				throw firstPutError;
+			}
+			return null;
+		}
+
+		/**
+		 * Create a region tag with {@link #doRequestWithRelogin(java.util.concurrent.Callable)}
+		 */
+		void createRegionTag() throws Exception {
+			doRequestWithRelogin(() -> doPut("space/tags/C1/B1/F1?regionName=R1&tags=Tag", null, RegionTagWrapperControl.class));
+		}
+	}
+
+	/**
+	 * Test region tag creation rejected with 401, reported by RestCommunicator as FailedLoginException
+	 *
+	 * Expect one relogin, and the creation is replayed once
+	 */
+	@Test
+	void testReplayRequestAfterReloginOnUnauthorized() throws Exception {
+		UnauthorizedOnceCommunicator communicator = new UnauthorizedOnceCommunicator(new FailedLoginException("Invalid authentication credentials for space/tags"));
+		communicator.createRegionTag();
+		Assert.assertEquals(1, communicator.logins.get());
+		Assert.assertEquals(2, communicator.puts.get());
+	}
+
+	/**
+	 * Test region tag creation rejected with an error other than 401
+	 *
+	 * Expect the error is thrown without relogin or replay
+	 */
+	@Test
+	void testNoReloginOnOtherErrors() {
+		UnauthorizedOnceCommunicator communicator = new UnauthorizedOnceCommunicator(new CommandFailureException("api.sembient.com", "space/tags", "Internal Server Error", 500));
+		Assert.assertThrows(CommandFailureException.class, communicator::createRegionTag);
+		Assert.assertEquals(0, communicator.logins.get());
+		Assert.assertEquals(1, communicator.puts.get());
+	}
+
+	/**
+	 * Create a request of closed day thermal timeseries that counts the requests sent
+	 *
+	 * @param requests number of requests sent
+	 * @param statusCode status code of the response
+	 * @return request answered with the data of S1 only
+	 */
+	private Supplier<CompletableFuture<TimeseriesResponse<ThermalData[]>>> closedDayRequest(AtomicInteger requests, String statusCode) {
+		return () -> {
+			requests.incrementAndGet();
+			TimeseriesResponse<ThermalData[]> response = new TimeseriesResponse<>();
+			response.setStatusCode(statusCode);
+			if ("200".equals(statusCode)) {
+				response.setDeviceCount(2);
+				response.getDeviceData().put("S1", new ThermalData[] { new ThermalData() });
+			}
+			return CompletableFuture.completedFuture(response);
+		};
+	}
+
+	/**
+	 * Test closed day timeseries where one of the requested sensors has no data
+	 *
+	 * Expect the response is cached, the same sensors are served from the cache, other sensors are requested
+	 */
+	@Test
+	void testCacheClosedDayWithMissingSensorData() {
+		SembientAggregatorCommunicator communicator = new SembientAggregatorCommunicator();
+		AtomicInteger requests = new AtomicInteger();
+		String requestKey = "thermal/timeseries/C1/B1/F1/2026-10-16#S1,S2";
+		TimeseriesResponse<ThermalData[]> response = communicator.getClosedDayTimeseries("2026-10-16", requestKey, closedDayRequest(requests, "200")).join();
+		TimeseriesResponse<ThermalData[]> cachedResponse = communicator.getClosedDayTimeseries("2026-10-16", requestKey, closedDayRequest(requests, "200")).join();
+		Assert.assertSame(response, cachedResponse);
+		Assert.assertNull(cachedResponse.getDeviceData().get("S2"));
+		Assert.assertEquals(1, requests.get());
+		communicator.getClosedDayTimeseries("2026-10-16", "thermal/timeseries/C1/B1/F1/2026-10-16#S1,S3", closedDayRequest(requests, "200")).join();
+		Assert.assertEquals(2, requests.get());
+	}
+
+	/**
+	 * Test closed day timeseries with an error response
+	 *
+	 * Expect the response is not cached, the next call requests it again
+	 */
+	@Test
+	void testNoCacheOfClosedDayErrors() {
+		SembientAggregatorCommunicator communicator = new SembientAggregatorCommunicator();
+		AtomicInteger requests = new AtomicInteger();
+		String requestKey = "thermal/timeseries/C1/B1/F1/2026-10-16#S1,S2";
+		communicator.getClosedDayTimeseries("2026-10-16", requestKey, closedDayRequest(requests, "500")).join();
+		communicator.getClosedDayTimeseries("2026-10-16", requestKey, closedDayRequest(requests, "500")).join();
+		Assert.assertEquals(2, requests.get());
+	}
+
+	/**
+	 * Test region tag polling cycle shorter than the minimum polling cycle, and not set
+	 *
+	 * Expect the minimum polling cycle is used like the other families, and the default region tag polling cycle if it is not set
+	 */
+	@Test
+	void testRegionTagPollingCycleMinimum() {
+		SembientAggregatorCommunicator communicator = new SembientAggregatorCommunicator();
+		long minimumPollingCycle = SembientAggregatorConstant.DEFAULT_POLLING_CYCLE * SembientAggregatorConstant.MINUTE_TO_MS;
+		for (String pollingCycle : new String[] { "1", "0", "-5" }) {
+			communicator.setRegionTagPollingCycle(pollingCycle);
+			communicator.setThermalPollingCycle(pollingCycle);
+			Assert.assertEquals(minimumPollingCycle, communicator.getFloorDataPollingCycleFromUserInput(SembientAggregatorConstant.REGION_TAG));
+			Assert.assertEquals(minimumPollingCycle, communicator.getFloorDataPollingCycleFromUserInput(SembientAggregatorConstant.THERMAL));
+		}
+		communicator.setRegionTagPollingCycle("45");
+		Assert.assertEquals(45 * SembientAggregatorConstant.MINUTE_TO_MS, communicator.getFloorDataPollingCycleFromUserInput(SembientAggregatorConstant.REGION_TAG));
+		communicator.setRegionTagPollingCycle(null);
+		Assert.assertEquals(SembientAggregatorConstant.DEFAULT_REGION_TAG_POLLING_CYCLE * SembientAggregatorConstant.MINUTE_TO_MS,
+				communicator.getFloorDataPollingCycleFromUserInput(SembientAggregatorConstant.REGION_TAG));
+	}
+
+	/**
+	 * Test control of a device that is not monitored
+	 *
+	 * Expect IllegalArgumentException, for unknown and missing device ids
+	 */
+	@Test
+	void testControlUnknownDevice() {
+		SembientAggregatorCommunicator communicator = new SembientAggregatorCommunicator();
+		for (String deviceId : new String[] { "region-C1-B1-F1-R1", null }) {
+			ControllableProperty controllableProperty = new ControllableProperty();
+			controllableProperty.setDeviceId(deviceId);
+			controllableProperty.setProperty(SembientAggregatorConstant.OCCUPANCY_LIST + SembientAggregatorConstant.HASH + SembientAggregatorConstant.HOUR);
+			controllableProperty.setValue("9");
+			Assert.assertThrows(IllegalArgumentException.class, () -> communicator.controlProperty(controllableProperty));
+		}
+	}
+
+	/**
+	 * Test next collection timestamps of floors collected at different times of the polling window
+	 *
+	 * Expect the next collection is between POLLING_SLOT_SKIP_RATIO and 1 + POLLING_SLOT_SKIP_RATIO cycles away plus the jitter,
+	 * and always lands in the same slot of the floor
+	 */
+	@Test
+	void testNextFloorDataCollectionTimestamp() {
+		SembientAggregatorCommunicator communicator = new SembientAggregatorCommunicator();
+		communicator.setThermalPollingCycle("30");
+		long pollingCycle = 30 * SembientAggregatorConstant.MINUTE_TO_MS;
+		long maxJitter = (long) (pollingCycle * SembientAggregatorConstant.POLLING_JITTER_RATIO);
+		long minDelay = (long) (pollingCycle * SembientAggregatorConstant.POLLING_SLOT_SKIP_RATIO);
+		long maxDelay = pollingCycle + minDelay + maxJitter;
+		for (String floorName : new String[] { "F1", "F2", "Lobby" }) {
+			Long slot = null;
+			for (long currentTime = 1_760_000_000_000L; currentTime < 1_760_000_000_000L + 3 * pollingCycle; currentTime += 7 * SembientAggregatorConstant.MINUTE_TO_MS) {
+				long nextCollectionTimestamp = communicator.getNextFloorDataCollectionTimestamp(SembientAggregatorConstant.THERMAL, "B1", floorName, currentTime);
+				Assert.assertTrue(nextCollectionTimestamp - currentTime >= minDelay);
+				Assert.assertTrue(nextCollectionTimestamp - currentTime <= maxDelay);
+				if (slot == null) {
+					slot = nextCollectionTimestamp;
+				}
+				long slotOffset = Math.floorMod(nextCollectionTimestamp - slot, pollingCycle);
+				Assert.assertTrue(slotOffset <= maxJitter || slotOffset >= pollingCycle - maxJitter);
+			}
+		}
+	}
+}
@@ -655,7 +655,11 @@ class SembientAggregatorCommunicatorTest {
 	}
 
 	/**
-	 * Test refresh interval
+	 * Test refresh interval, polling cycle under 30 minutes is raised to 30 minutes
+	 * <p>
+	 * Every floor is collected in its own slot of the polling window, so after the first collection the next one is
+	 * between {@link SembientAggregatorConstant#POLLING_SLOT_SKIP_RATIO} and 1 + POLLING_SLOT_SKIP_RATIO cycles
+	 * (plus up to {@link SembientAggregatorConstant#POLLING_JITTER_RATIO} of a cycle) away
 	 *
 	 * @throws Exception if fail to getMultipleStatistics, retrieveMultipleStatistics
 	 */
@@ -682,6 +686,9 @@ class SembientAggregatorCommunicatorTest {
 		String date = extendedStatistics.getStatistics().get("NextPollingCycle");
 		Date d = f.parse(date);
 		long nextPollingCycle = d.getTime();
-		Assert.assertTrue((currentDateTime + 30 * 60000) < nextPollingCycle);
+		long pollingCycle = SembientAggregatorConstant.DEFAULT_POLLING_CYCLE * SembientAggregatorConstant.MINUTE_TO_MS;
+		Assert.assertTrue(currentDateTime + pollingCycle * SembientAggregatorConstant.POLLING_SLOT_SKIP_RATIO <= nextPollingCycle);
+		Assert.assertTrue(nextPollingCycle <= System.currentTimeMillis()
+				+ pollingCycle * (1 + SembientAggregatorConstant.POLLING_SLOT_SKIP_RATIO + SembientAggregatorConstant.POLLING_JITTER_RATIO));
 	}
 }
\ No newline at end of file
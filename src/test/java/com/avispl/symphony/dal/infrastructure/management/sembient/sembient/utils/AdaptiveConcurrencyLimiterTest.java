@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link AdaptiveConcurrencyLimiter}
+ *
+ * @author Kevin / Symphony Dev Team<br>
+ * Created on 10/17/2026
+ * @since 1.0.2
+ */
+@Tag("Mock")
+class AdaptiveConcurrencyLimiterTest {
+
+	/**
+	 * Test successful requests when the limit is under its maximum
+	 * <p>
+	 * Expect the limit to grow by 1 once a full window of requests succeeded
+	 */
+	@Test
+	void testAdditiveIncreaseOnSuccess() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 8);
+		limiter.acquire();
+		limiter.onDropped();
+		Assert.assertEquals(4, limiter.getLimit());
+		for (int i = 0; i < 4; i++) {
+			limiter.acquire();
+			limiter.onSuccess();
+		}
+		Assert.assertEquals(4, limiter.getLimit());
+		limiter.acquire();
+		limiter.onSuccess();
+		Assert.assertEquals(5, limiter.getLimit());
+	}
+
+	/**
+	 * Test throttled (429) or timed out requests
+	 * <p>
+	 * Expect every dropped request to cut the limit in half
+	 */
+	@Test
+	void testMultiplicativeDecreaseOnDropped() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 8);
+		limiter.acquire();
+		limiter.acquire();
+		limiter.onDropped();
+		Assert.assertEquals(4, limiter.getLimit());
+		limiter.onDropped();
+		Assert.assertEquals(2, limiter.getLimit());
+	}
+
+	/**
+	 * Test requests that failed for another reason
+	 * <p>
+	 * Expect the limit to be kept as is
+	 */
+	@Test
+	void testLimitKeptOnIgnored() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 8);
+		limiter.acquire();
+		limiter.onIgnored();
+		Assert.assertEquals(8, limiter.getLimit());
+	}
+
+	/**
+	 * Test limit bounds
+	 * <p>
+	 * Expect the limit to stay between the minimum and maximum limits
+	 */
+	@Test
+	void testFloorAndCeiling() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 8);
+		for (int i = 0; i < 10; i++) {
+			limiter.acquire();
+			limiter.onSuccess();
+		}
+		Assert.assertEquals(8, limiter.getLimit());
+		for (int i = 0; i < 10; i++) {
+			limiter.acquire();
+			limiter.onDropped();
+		}
+		Assert.assertEquals(2, limiter.getLimit());
+	}
+
+	/**
+	 * Test requests over the limit
+	 * <p>
+	 * Expect requests over the limit to wait without blocking the caller, and to be admitted in order when an in-flight request is released
+	 */
+	@Test
+	void testAcquireOverLimit() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 2);
+		Assert.assertTrue(limiter.acquire().isDone());
+		Assert.assertTrue(limiter.acquire().isDone());
+		CompletableFuture<Void> firstWaiter = limiter.acquire();
+		CompletableFuture<Void> secondWaiter = limiter.acquire();
+		Assert.assertFalse(firstWaiter.isDone());
+		Assert.assertFalse(secondWaiter.isDone());
+		limiter.onSuccess();
+		Assert.assertTrue(firstWaiter.isDone());
+		Assert.assertFalse(secondWaiter.isDone());
+		limiter.onIgnored();
+		Assert.assertTrue(secondWaiter.isDone());
+	}
+
+	/**
+	 * Test waiting requests when the limit is decreased
+	 * <p>
+	 * Expect waiting requests to be admitted only once the in-flight requests are under the new limit
+	 */
+	@Test
+	void testAcquireAfterDecrease() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 4);
+		for (int i = 0; i < 4; i++) {
+			limiter.acquire();
+		}
+		CompletableFuture<Void> waiter = limiter.acquire();
+		// 3 requests in flight, limit is 2
+		limiter.onDropped();
+		Assert.assertFalse(waiter.isDone());
+		limiter.onIgnored();
+		Assert.assertFalse(waiter.isDone());
+		limiter.onIgnored();
+		Assert.assertTrue(waiter.isDone());
+	}
+
+	/**
+	 * Test release without a registered in-flight request
+	 * <p>
+	 * Expect the release to be ignored, so the limit can't be exceeded afterwards
+	 */
+	@Test
+	void testReleaseWithoutAcquire() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 2);
+		limiter.onSuccess();
+		limiter.onDropped();
+		limiter.onIgnored();
+		Assert.assertEquals(2, limiter.getLimit());
+		Assert.assertTrue(limiter.acquire().isDone());
+		Assert.assertTrue(limiter.acquire().isDone());
+		Assert.assertFalse(limiter.acquire().isDone());
+	}
+
+	/**
+	 * Test cancelling the waiting callers when the requests are no longer sent
+	 * <p>
+	 * Expect every waiting caller to be completed as cancelled, registered requests are not affected
+	 */
+	@Test
+	void testCancelWaiters() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1);
+		CompletableFuture<Void> permit = limiter.acquire();
+		CompletableFuture<Void> firstWaiter = limiter.acquire();
+		CompletableFuture<Void> secondWaiter = limiter.acquire();
+		limiter.cancelWaiters();
+		Assert.assertTrue(permit.isDone() && !permit.isCancelled());
+		Assert.assertTrue(firstWaiter.isCancelled());
+		Assert.assertTrue(secondWaiter.isCancelled());
+		limiter.onSuccess();
+		Assert.assertTrue(limiter.acquire().isDone());
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link BudgetedTaskRunner}, tasks are futures completed by the test (slow responses) and time is controlled by a fake clock
+ *
+ * @author Kevin / Symphony Dev Team<br>
+ * Created on 10/17/2026
+ * @since 1.0.2
+ */
+@Tag("Mock")
+class BudgetedTaskRunnerTest {
+	private static final long DEADLINE = 1000;
+
+	private long currentTime;
+	private List<String> startedTasks;
+	private Map<String, CompletableFuture<Void>> responses;
+
+	@BeforeEach
+	void setUp() {
+		currentTime = 0;
+		startedTasks = new ArrayList<>();
+		responses = new HashMap<>();
+	}
+
+	/**
+	 * Create a runner of floor tasks, a floor task is finished when the test completes its response
+	 *
+	 * @param floors keys of the floor tasks
+	 * @return runner of the floor tasks
+	 */
+	private BudgetedTaskRunner<String> floorRunner(String... floors) {
+		return new BudgetedTaskRunner<>(Arrays.asList(floors), floor -> {
+			startedTasks.add(floor);
+			CompletableFuture<Void> response = new CompletableFuture<>();
+			responses.put(floor, response);
+			return response;
+		}, DEADLINE, () -> currentTime);
+	}
+
+	/**
+	 * Test tasks finished before the deadline
+	 * <p>
+	 * Expect at most parallelism tasks in progress, every task is started and none is left
+	 */
+	@Test
+	void testTasksFinishedWithinBudget() {
+		BudgetedTaskRunner<String> runner = floorRunner("F1", "F2", "F3");
+		CompletableFuture<Void> cycle = runner.start(2);
+		Assert.assertEquals(Arrays.asList("F1", "F2"), startedTasks);
+		responses.get("F1").complete(null);
+		Assert.assertEquals(Arrays.asList("F1", "F2", "F3"), startedTasks);
+		responses.get("F2").complete(null);
+		Assert.assertFalse(cycle.isDone());
+		responses.get("F3").complete(null);
+		Assert.assertTrue(cycle.isDone());
+		Assert.assertEquals(Collections.emptyList(), runner.drainPendingTasks());
+	}
+
+	/**
+	 * Test slow responses that last past the deadline
+	 * <p>
+	 * Expect the tasks that are not started before the deadline are not started anymore, and are left in order to be deferred
+	 */
+	@Test
+	void testSlowResponsesDeferPendingTasks() {
+		BudgetedTaskRunner<String> runner = floorRunner("F1", "F2", "F3", "F4");
+		CompletableFuture<Void> cycle = runner.start(1);
+		currentTime = DEADLINE / 2;
+		responses.get("F1").complete(null);
+		Assert.assertEquals(Arrays.asList("F1", "F2"), startedTasks);
+		currentTime = DEADLINE + 1;
+		responses.get("F2").complete(null);
+		Assert.assertEquals(Arrays.asList("F1", "F2"), startedTasks);
+		Assert.assertTrue(cycle.isDone());
+		Assert.assertEquals(Arrays.asList("F3", "F4"), runner.drainPendingTasks());
+	}
+
+	/**
+	 * Test tasks left when the caller stops waiting at the deadline while slow responses are still in progress
+	 * <p>
+	 * Expect drained tasks are never started, even when the responses in progress are finished
+	 */
+	@Test
+	void testDrainedTasksAreNotStarted() {
+		BudgetedTaskRunner<String> runner = floorRunner("F1", "F2", "F3");
+		CompletableFuture<Void> cycle = runner.start(1);
+		Assert.assertEquals(Arrays.asList("F2", "F3"), runner.drainPendingTasks());
+		responses.get("F1").complete(null);
+		Assert.assertEquals(Collections.singletonList("F1"), startedTasks);
+		Assert.assertTrue(cycle.isDone());
+	}
+
+	/**
+	 * Test tasks that are finished right away or fail to start
+	 * <p>
+	 * Expect the next tasks are started without waiting, and the run is finished
+	 */
+	@Test
+	void testTasksFinishedRightAway() {
+		List<Integer> started = new ArrayList<>();
+		List<Integer> tasks = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			tasks.add(i);
+		}
+		BudgetedTaskRunner<Integer> runner = new BudgetedTaskRunner<>(tasks, task -> {
+			started.add(task);
+			if (task % 2 == 0) {
+				throw new IllegalStateException("Failed to start task " + task);
+			}
+			return CompletableFuture.completedFuture(null);
+		}, DEADLINE, () -> currentTime);
+		Assert.assertTrue(runner.start(1).isDone());
+		Assert.assertEquals(tasks, started);
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link NameFilter}
+ *
+ * @author Kevin / Symphony Dev Team<br>
+ * Created on 10/17/2026
+ * @since 1.0.2
+ */
+@Tag("Mock")
+class NameFilterTest {
+
+	/**
+	 * Test null, empty and blank filters match every name
+	 *
+	 * Expect every name, including null, is matched
+	 */
+	@Test
+	void testEmptyFilter() {
+		for (String filter : Arrays.asList(null, "", " , ,")) {
+			NameFilter nameFilter = NameFilter.compile(filter);
+			Assert.assertSame(NameFilter.EMPTY, nameFilter);
+			Assert.assertTrue(nameFilter.isEmpty());
+			Assert.assertFalse(nameFilter.hasWildcard());
+			Assert.assertTrue(nameFilter.matches("Room 1"));
+			Assert.assertTrue(nameFilter.matches(null));
+		}
+	}
+
+	/**
+	 * Test names without wildcard are matched exactly
+	 *
+	 * Expect only the whole name is matched, null is not matched
+	 */
+	@Test
+	void testExactMatch() {
+		NameFilter nameFilter = NameFilter.compile("Room 1,Room 2");
+		Assert.assertFalse(nameFilter.hasWildcard());
+		Assert.assertTrue(nameFilter.matches("Room 1"));
+		Assert.assertTrue(nameFilter.matches("Room 2"));
+		Assert.assertFalse(nameFilter.matches("Room 10"));
+		Assert.assertFalse(nameFilter.matches("Room"));
+		Assert.assertFalse(nameFilter.matches(null));
+	}
+
+	/**
+	 * Test '*' matches any characters and '?' matches a single character
+	 *
+	 * Expect names are matched by their wildcards, exact names are still matched
+	 */
+	@Test
+	void testWildcardMatch() {
+		NameFilter nameFilter = NameFilter.compile("Meet*,Desk-??,Lobby");
+		Assert.assertTrue(nameFilter.hasWildcard());
+		Assert.assertTrue(nameFilter.matches("Meet"));
+		Assert.assertTrue(nameFilter.matches("Meeting A"));
+		Assert.assertTrue(nameFilter.matches("Desk-12"));
+		Assert.assertFalse(nameFilter.matches("Desk-1"));
+		Assert.assertFalse(nameFilter.matches("Desk-123"));
+		Assert.assertFalse(nameFilter.matches("A Meeting"));
+		Assert.assertTrue(nameFilter.matches("Lobby"));
+		Assert.assertEquals(new ArrayList<>(Arrays.asList("Lobby")), new ArrayList<>(nameFilter.getNames()));
+	}
+
+	/**
+	 * Test names are trimmed and empty entries are ignored
+	 *
+	 * Expect names are kept in the order of the filter without surrounding spaces
+	 */
+	@Test
+	void testTrimAndEmptyEntries() {
+		NameFilter nameFilter = NameFilter.compile(" Room 1 ,, ,Room 2,");
+		Assert.assertEquals(new ArrayList<>(Arrays.asList("Room 1", "Room 2")), new ArrayList<>(nameFilter.getNames()));
+		Assert.assertTrue(nameFilter.matches("Room 1"));
+		Assert.assertFalse(nameFilter.matches(" Room 1 "));
+		Assert.assertFalse(nameFilter.matches(""));
+	}
+
+	/**
+	 * Test names are matched case sensitively, with and without wildcard
+	 *
+	 * Expect names with a different case are not matched
+	 */
+	@Test
+	void testCaseSensitive() {
+		NameFilter nameFilter = NameFilter.compile("Room 1,Meet*");
+		Assert.assertTrue(nameFilter.matches("Room 1"));
+		Assert.assertFalse(nameFilter.matches("room 1"));
+		Assert.assertFalse(nameFilter.matches("ROOM 1"));
+		Assert.assertTrue(nameFilter.matches("Meeting"));
+		Assert.assertFalse(nameFilter.matches("meeting"));
+	}
+
+	/**
+	 * Test regular expression metacharacters in names are matched literally
+	 *
+	 * Expect only the names with the same characters are matched
+	 */
+	@Test
+	void testRegexMetacharacters() {
+		NameFilter nameFilter = NameFilter.compile("a.b,Room (1)*,[x]+?,C\\E|D*");
+		Assert.assertTrue(nameFilter.matches("a.b"));
+		Assert.assertFalse(nameFilter.matches("axb"));
+		Assert.assertTrue(nameFilter.matches("Room (1) East"));
+		Assert.assertFalse(nameFilter.matches("Room 1 East"));
+		Assert.assertTrue(nameFilter.matches("[x]+y"));
+		Assert.assertFalse(nameFilter.matches("xx"));
+		Assert.assertTrue(nameFilter.matches("C\\E|D"));
+		Assert.assertTrue(nameFilter.matches("C\\E|Dx"));
+		Assert.assertFalse(nameFilter.matches("D"));
+	}
+}
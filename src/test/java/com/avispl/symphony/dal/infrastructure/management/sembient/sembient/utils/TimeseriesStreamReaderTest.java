@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.avispl.symphony.dal.infrastructure.management.sembient.sembient.dto.thermal.ThermalData;
+
+/**
+ * Unit test for {@link TimeseriesStreamReader}
+ *
+ * @author Kevin / Symphony Dev Team<br>
+ * Created on 10/17/2026
+ * @since 1.0.2
+ */
+@Tag("Mock")
+class TimeseriesStreamReaderTest {
+	private final TimeseriesStreamReader<ThermalData[]> reader = new TimeseriesStreamReader<>(new ObjectMapper(), SembientAggregatorConstant.SENSORS_FIELD,
+			SembientAggregatorConstant.SENSOR_NAME_FIELD, ThermalData[].class);
+
+	/**
+	 * Create the content of a thermal timeseries response
+	 *
+	 * @param sensors sensors array of the response body
+	 * @return response content
+	 */
+	private InputStream thermalResponse(String sensors) {
+		String json = "{\"statusCode\": 200, \"body\": {\"customerId\": \"C1\", \"sensors\": " + sensors + "}}";
+		return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Test reading the data of the requested sensors
+	 * <p>
+	 * Expect status code, number of sensors and data of the requested sensors to be read
+	 */
+	@Test
+	void testReadRequestedSensors() throws IOException {
+		TimeseriesResponse<ThermalData[]> response = reader.read(thermalResponse(
+				"[{\"sensorName\": \"S1\", \"data\": [{\"temperature\": 70, \"humidity\": 40, \"timestamp\": 1000}, {\"temperature\": 71, \"humidity\": 41, \"timestamp\": 2000}]}]"),
+				new HashSet<>(Arrays.asList("S1")));
+		Assert.assertEquals("200", response.getStatusCode());
+		Assert.assertEquals(1, response.getDeviceCount());
+		ThermalData[] data = response.getDeviceData().get("S1");
+		Assert.assertEquals(2, data.length);
+		Assert.assertEquals(71, data[1].getTemperature());
+		Assert.assertEquals(2000L, (long) data[1].getTimestamp());
+	}
+
+	/**
+	 * Test reading data that comes before the sensor name
+	 * <p>
+	 * Expect the data to be buffered until the sensor name is known, then bound to the sensor
+	 */
+	@Test
+	void testReadDataBeforeName() throws IOException {
+		TimeseriesResponse<ThermalData[]> response = reader.read(thermalResponse(
+				"[{\"data\": [{\"temperature\": 68, \"humidity\": 35, \"timestamp\": 1000}], \"floor\": \"F1\", \"sensorName\": \"S1\"}]"),
+				new HashSet<>(Arrays.asList("S1")));
+		ThermalData[] data = response.getDeviceData().get("S1");
+		Assert.assertEquals(1, data.length);
+		Assert.assertEquals(68, data[0].getTemperature());
+	}
+
+	/**
+	 * Test reading sensors that are not requested
+	 * <p>
+	 * Expect their data to be skipped while they are still counted
+	 */
+	@Test
+	void testSkipUnrequestedSensors() throws IOException {
+		TimeseriesResponse<ThermalData[]> response = reader.read(thermalResponse(
+				"[{\"sensorName\": \"S2\", \"data\": [{\"temperature\": 60}]}, "
+						+ "{\"data\": [{\"temperature\": 61}], \"sensorName\": \"S3\"}, "
+						+ "{\"sensorName\": \"S1\", \"data\": [{\"temperature\": 62}]}]"),
+				new HashSet<>(Arrays.asList("S1")));
+		Assert.assertEquals(3, response.getDeviceCount());
+		Assert.assertEquals(1, response.getDeviceData().size());
+		Assert.assertEquals(62, response.getDeviceData().get("S1")[0].getTemperature());
+	}
+
+	/**
+	 * Test reading a sensor listed more than once
+	 * <p>
+	 * Expect the last entry of the sensor to be kept, both when its name comes before and after its data
+	 */
+	@Test
+	void testDuplicateSensorNames() throws IOException {
+		TimeseriesResponse<ThermalData[]> response = reader.read(thermalResponse(
+				"[{\"sensorName\": \"S1\", \"data\": [{\"temperature\": 60}]}, "
+						+ "{\"data\": [{\"temperature\": 65}], \"sensorName\": \"S1\"}, "
+						+ "{\"sensorName\": \"S2\", \"data\": [{\"temperature\": 70}]}, "
+						+ "{\"sensorName\": \"S2\", \"data\": [{\"temperature\": 75}]}]"),
+				new HashSet<>(Arrays.asList("S1", "S2")));
+		Assert.assertEquals(4, response.getDeviceCount());
+		Assert.assertEquals(65, response.getDeviceData().get("S1")[0].getTemperature());
+		Assert.assertEquals(75, response.getDeviceData().get("S2")[0].getTemperature());
+	}
+
+	/**
+	 * Test reading an error response without body
+	 * <p>
+	 * Expect the status code to be read, and no sensor data
+	 */
+	@Test
+	void testReadErrorResponse() throws IOException {
+		String json = "{\"statusCode\": 404, \"message\": \"Not found\"}";
+		TimeseriesResponse<ThermalData[]> response = reader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), new HashSet<>(Arrays.asList("S1")));
+		Assert.assertEquals("404", response.getStatusCode());
+		Assert.assertEquals(0, response.getDeviceCount());
+		Assert.assertTrue(response.getDeviceData().isEmpty());
+	}
+
+	/**
+	 * Test reading a response without the data of some requested sensors
+	 * <p>
+	 * Expect the response to have data of the returned sensors only
+	 */
+	@Test
+	void testReadMissingSensorData() throws IOException {
+		TimeseriesResponse<ThermalData[]> response = reader.read(thermalResponse(
+				"[{\"sensorName\": \"S1\", \"data\": [{\"temperature\": 60}]}, {\"sensorName\": \"S2\", \"data\": null}]"),
+				new HashSet<>(Arrays.asList("S1", "S2", "S3")));
+		Assert.assertEquals("200", response.getStatusCode());
+		Assert.assertNotNull(response.getDeviceData().get("S1"));
+		Assert.assertNull(response.getDeviceData().get("S2"));
+		Assert.assertNull(response.getDeviceData().get("S3"));
+	}
+}
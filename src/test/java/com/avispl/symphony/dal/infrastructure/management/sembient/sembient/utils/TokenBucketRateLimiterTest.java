@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.sembient.sembient.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link TokenBucketRateLimiter}, time is controlled by a fake clock so the test is deterministic
+ *
+ * @author Kevin / Symphony Dev Team<br>
+ * Created on 10/17/2026
+ * @since 1.0.2
+ */
+@Tag("Mock")
+class TokenBucketRateLimiterTest {
+	private static final long MILLISECOND_TO_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private long currentNanos;
+	private List<Long> waits;
+	private TokenBucketRateLimiter rateLimiter;
+
+	@BeforeEach
+	void setUp() {
+		currentNanos = 0;
+		waits = new ArrayList<>();
+		// Waiting moves the fake clock forward, as a real sleep would do
+		rateLimiter = new TokenBucketRateLimiter(10, () -> currentNanos, nanos -> {
+			waits.add(nanos);
+			currentNanos += nanos;
+		});
+	}
+
+	/**
+	 * Test burst of requests when the bucket is full
+	 * <p>
+	 * Expect one second worth of tokens to be taken without waiting
+	 */
+	@Test
+	void testBurst() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			rateLimiter.acquire();
+		}
+		Assert.assertTrue(waits.isEmpty());
+	}
+
+	/**
+	 * Test request when the bucket is empty
+	 * <p>
+	 * Expect the caller to wait for the next token, 100ms at 10 requests per second
+	 */
+	@Test
+	void testBlockingWhenEmpty() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			rateLimiter.acquire();
+		}
+		rateLimiter.acquire();
+		Assert.assertEquals(1, waits.size());
+		Assert.assertEquals(100 * MILLISECOND_TO_NANOS, (long) waits.get(0));
+	}
+
+	/**
+	 * Test tokens refilled over time
+	 * <p>
+	 * Expect 5 tokens after 500ms at 10 requests per second, and the 6th request to wait
+	 */
+	@Test
+	void testRefill() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			rateLimiter.acquire();
+		}
+		currentNanos += 500 * MILLISECOND_TO_NANOS;
+		for (int i = 0; i < 5; i++) {
+			rateLimiter.acquire();
+		}
+		Assert.assertTrue(waits.isEmpty());
+		rateLimiter.acquire();
+		Assert.assertEquals(1, waits.size());
+	}
+
+	/**
+	 * Test refill after a long idle period
+	 * <p>
+	 * Expect the bucket to be capped at one second worth of tokens
+	 */
+	@Test
+	void testRefillCappedAtBurst() throws Exception {
+		currentNanos += TimeUnit.MINUTES.toNanos(1);
+		for (int i = 0; i < 10; i++) {
+			rateLimiter.acquire();
+		}
+		Assert.assertTrue(waits.isEmpty());
+		rateLimiter.acquire();
+		Assert.assertEquals(1, waits.size());
+	}
+
+	/**
+	 * Test lowering the rate while the bucket is full
+	 * <p>
+	 * Expect the stored tokens to be capped at the new burst, and the waiting time to follow the new rate
+	 */
+	@Test
+	void testSetPermitsPerSecond() throws Exception {
+		rateLimiter.setPermitsPerSecond(2);
+		rateLimiter.acquire();
+		rateLimiter.acquire();
+		Assert.assertTrue(waits.isEmpty());
+		rateLimiter.acquire();
+		Assert.assertEquals(500 * MILLISECOND_TO_NANOS, (long) waits.get(0));
+	}
+
+	/**
+	 * Test reserving tokens when the bucket is empty
+	 * <p>
+	 * Expect the caller not to wait, and the returned waiting times to grow by 100ms per token at 10 requests per second
+	 */
+	@Test
+	void testReserve() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			Assert.assertEquals(0, rateLimiter.reserve());
+		}
+		Assert.assertEquals(100 * MILLISECOND_TO_NANOS, rateLimiter.reserve());
+		Assert.assertEquals(200 * MILLISECOND_TO_NANOS, rateLimiter.reserve());
+		Assert.assertTrue(waits.isEmpty());
+		rateLimiter.acquire();
+		Assert.assertEquals(300 * MILLISECOND_TO_NANOS, (long) waits.get(0));
+	}
+}